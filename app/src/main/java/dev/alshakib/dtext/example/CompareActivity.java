@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext.example;
+
+import android.os.Bundle;
+import android.view.Choreographer;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SwitchCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.alshakib.dtext.DText;
+import dev.alshakib.dtext.DTextStyle;
+
+// Scrolls the same long list once with ImageView items and once with DTextView
+// items, and shows the frame times of each run as reported by the Choreographer.
+public class CompareActivity extends AppCompatActivity implements Choreographer.FrameCallback {
+    // The countries are repeated, so a run scrolls long enough to be measured.
+    private static final int REPEAT_COUNT = 20;
+    private static final int MAX_FRAMES = 4096;
+    // One and a half frames at 60 Hz, so the frame has missed its vsync.
+    private static final double SLOW_FRAME_MILLIS = 25.0;
+
+    private final long[] frameNanos = new long[MAX_FRAMES];
+    private int frameCount;
+    private long lastFrameTimeNanos;
+    private boolean isRunning;
+
+    private RecyclerView recyclerView;
+    private TextView resultView;
+    private CompareAdapter adapter;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_compare);
+        resultView = findViewById(R.id.compare_result);
+        recyclerView = findViewById(R.id.compare_list_view);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new CompareAdapter(createStyle(), createItems());
+        recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (isRunning && newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    stopRun();
+                }
+            }
+        });
+
+        SwitchCompat viewSwitch = findViewById(R.id.compare_view_switch);
+        viewSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            adapter.setUseDTextView(isChecked);
+            recyclerView.scrollToPosition(0);
+        });
+        Button runButton = findViewById(R.id.compare_run_button);
+        runButton.setOnClickListener(v -> startRun());
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (isRunning) {
+            stopRun();
+        }
+    }
+
+    private DTextStyle createStyle() {
+        DText.Builder builder = new DText.Builder();
+        builder.drawAsRound();
+        builder.useSpAndDp(this);
+        builder.boldText();
+        builder.hashBackgroundColor();
+        builder.firstCharOnly();
+        return builder.buildStyle();
+    }
+
+    private List<String> createItems() {
+        List<String> countries =
+                Arrays.asList(getResources().getStringArray(R.array.countries_array));
+        List<String> items = new ArrayList<>(countries.size() * REPEAT_COUNT);
+        for (int i = 0; i < REPEAT_COUNT; i++) {
+            items.addAll(countries);
+        }
+        return items;
+    }
+
+    private void startRun() {
+        if (isRunning) {
+            return;
+        }
+        isRunning = true;
+        frameCount = 0;
+        lastFrameTimeNanos = 0;
+        resultView.setText(R.string.compare_running);
+        recyclerView.scrollToPosition(0);
+        Choreographer.getInstance().postFrameCallback(this);
+        recyclerView.smoothScrollToPosition(adapter.getItemCount() - 1);
+    }
+
+    private void stopRun() {
+        isRunning = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        recyclerView.stopScroll();
+        showResult();
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!isRunning) {
+            return;
+        }
+        if (lastFrameTimeNanos != 0 && frameCount < MAX_FRAMES) {
+            frameNanos[frameCount++] = frameTimeNanos - lastFrameTimeNanos;
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void showResult() {
+        if (frameCount == 0) {
+            resultView.setText(null);
+            return;
+        }
+        long[] frames = Arrays.copyOf(frameNanos, frameCount);
+        Arrays.sort(frames);
+        long total = 0;
+        int slowFrames = 0;
+        for (long frame : frames) {
+            total += frame;
+            if (frame / 1e6 > SLOW_FRAME_MILLIS) {
+                slowFrames++;
+            }
+        }
+        double average = total / 1e6 / frameCount;
+        double p90 = frames[(int) (frameCount * 0.9)] / 1e6;
+        String name = adapter.isUseDTextView() ? "DTextView" : "ImageView";
+        resultView.setText(getString(R.string.compare_result, name, frameCount, average, p90,
+                slowFrames));
+    }
+}
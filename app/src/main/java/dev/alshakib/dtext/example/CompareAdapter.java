@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext.example;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+import dev.alshakib.dtext.DTextStyle;
+import dev.alshakib.dtext.DTextView;
+
+// Binds the same items either the common way, with a new drawable set on an
+// ImageView, or with a DTextView that is only rebound to the text.
+class CompareAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+    private static final int VIEW_TYPE_IMAGE_VIEW = 0;
+    private static final int VIEW_TYPE_DTEXT_VIEW = 1;
+
+    private final DTextStyle style;
+    private final List<String> items;
+    private boolean useDTextView;
+
+    CompareAdapter(DTextStyle style, List<String> items) {
+        this.style = style;
+        this.items = items;
+    }
+
+    public void setUseDTextView(boolean useDTextView) {
+        this.useDTextView = useDTextView;
+        notifyDataSetChanged();
+    }
+
+    public boolean isUseDTextView() {
+        return this.useDTextView;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return useDTextView ? VIEW_TYPE_DTEXT_VIEW : VIEW_TYPE_IMAGE_VIEW;
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == VIEW_TYPE_DTEXT_VIEW) {
+            View itemView = inflater.inflate(R.layout.view_holder_dtext_view, parent, false);
+            return new DTextViewHolder(itemView, style);
+        }
+        View itemView = inflater.inflate(R.layout.view_holder_single_list, parent, false);
+        return new ImageViewHolder(itemView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        String text = items.get(position);
+        if (holder instanceof DTextViewHolder) {
+            DTextViewHolder dTextViewHolder = (DTextViewHolder) holder;
+            dTextViewHolder.displayTitle.setText(text);
+            dTextViewHolder.displayIcon.setText(text);
+        } else {
+            ImageViewHolder imageViewHolder = (ImageViewHolder) holder;
+            imageViewHolder.displayTitle.setText(text);
+            imageViewHolder.displayIcon.setImageDrawable(style.newDrawable(text));
+        }
+    }
+
+    static class ImageViewHolder extends RecyclerView.ViewHolder {
+        private final ImageView displayIcon;
+        private final TextView displayTitle;
+
+        ImageViewHolder(@NonNull View itemView) {
+            super(itemView);
+            displayIcon = itemView.findViewById(R.id.display_icon);
+            displayTitle = itemView.findViewById(R.id.display_title);
+        }
+    }
+
+    static class DTextViewHolder extends RecyclerView.ViewHolder {
+        private final DTextView displayIcon;
+        private final TextView displayTitle;
+
+        DTextViewHolder(@NonNull View itemView, DTextStyle style) {
+            super(itemView);
+            displayIcon = itemView.findViewById(R.id.display_icon);
+            displayTitle = itemView.findViewById(R.id.display_title);
+            displayIcon.setStyle(style);
+        }
+    }
+}
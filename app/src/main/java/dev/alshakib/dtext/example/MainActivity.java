@@ -27,8 +27,12 @@
 
 package dev.alshakib.dtext.example;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -37,6 +41,9 @@ import java.util.Arrays;
 import java.util.List;
 
 public class MainActivity extends AppCompatActivity {
+    // Number of items after the last visible one to prepare in the background
+    private static final int PREFETCH_DISTANCE = 20;
+
     private SingleListAdapter singleListAdapter;
 
     @Override
@@ -46,10 +53,36 @@ public class MainActivity extends AppCompatActivity {
         setupRecyclerView();
     }
 
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.main_menu, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == R.id.menu_compare) {
+            startActivity(new Intent(this, CompareActivity.class));
+            return true;
+        }
+        if (item.getItemId() == R.id.menu_stress) {
+            startActivity(new Intent(this, StressActivity.class));
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
     @Override
     protected void onStart() {
         super.onStart();
-        singleListAdapter.submitList(fetchData());
+        singleListAdapter.submitList(fetchData(), () ->
+                singleListAdapter.prefetch(0, PREFETCH_DISTANCE));
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        singleListAdapter.shutdown();
     }
 
     private void setupRecyclerView() {
@@ -58,6 +91,13 @@ public class MainActivity extends AppCompatActivity {
         singleListRecyclerView.setLayoutManager(linearLayoutManager);
         singleListAdapter = new SingleListAdapter(getApplicationContext());
         singleListRecyclerView.setAdapter(singleListAdapter);
+        singleListRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = linearLayoutManager.findLastVisibleItemPosition();
+                singleListAdapter.prefetch(lastVisible + 1, lastVisible + 1 + PREFETCH_DISTANCE);
+            }
+        });
     }
 
     private List<String> fetchData() {
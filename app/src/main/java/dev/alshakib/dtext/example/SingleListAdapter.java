@@ -28,7 +28,6 @@
 package dev.alshakib.dtext.example;
 
 import android.content.Context;
-import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -37,29 +36,62 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.List;
+
 import dev.alshakib.dtext.DText;
+import dev.alshakib.dtext.DTextPrefetcher;
+import dev.alshakib.dtext.DTextStyle;
 
 class SingleListAdapter extends ListAdapter<String, SingleListAdapter.SingleListViewHolder> {
-    private Context context;
+    private final DTextStyle style;
+    private final DTextPrefetcher prefetcher;
 
     protected SingleListAdapter(Context context) {
         super(new StringDiffCallback());
-        this.context = context;
+        this.style = createStyle(context);
+        this.prefetcher = new DTextPrefetcher(style);
     }
 
-    private Drawable createDrawable(String text) {
+    // The style never changes, so build it once and share it with every item.
+    private static DTextStyle createStyle(Context context) {
         DText.Builder builder = new DText.Builder();
-        builder.setText(text);
         builder.drawAsRound();
         builder.useSpAndDp(context);
         builder.boldText();
-        builder.randomBackgroundColor();
+        builder.hashBackgroundColor();
         builder.firstCharOnly();
-        return builder.build();
+        return builder.buildStyle();
+    }
+
+    // Prepare drawables of the items from start (inclusive) to end (exclusive)
+    // in the background, before they are bound.
+    public void prefetch(int start, int end) {
+        List<String> items = getCurrentList();
+        end = Math.min(end, items.size());
+        for (int i = Math.max(start, 0); i < end; i++) {
+            prefetcher.prefetch(items.get(i));
+        }
+    }
+
+    @Override
+    public void submitList(@Nullable List<String> list) {
+        prefetcher.cancel();
+        super.submitList(list);
+    }
+
+    @Override
+    public void submitList(@Nullable List<String> list, @Nullable Runnable commitCallback) {
+        prefetcher.cancel();
+        super.submitList(list, commitCallback);
+    }
+
+    public void shutdown() {
+        prefetcher.shutdown();
     }
 
     @NonNull
@@ -67,24 +99,28 @@ class SingleListAdapter extends ListAdapter<String, SingleListAdapter.SingleList
     public SingleListViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         LinearLayout linearLayout = (LinearLayout) LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.view_holder_single_list, parent, false);
-        return new SingleListAdapter.SingleListViewHolder(linearLayout);
+        return new SingleListAdapter.SingleListViewHolder(linearLayout, style.newDrawable(""));
     }
 
     @Override
     public void onBindViewHolder(@NonNull SingleListViewHolder holder, int position) {
         String text = getItem(position);
         holder.displayTitle.setText(text);
-        holder.displayIcon.setImageDrawable(createDrawable(text));
+        // The drawable lives as long as the ViewHolder, it is only rebound to the new text.
+        prefetcher.bind(holder.displayDrawable, text);
     }
 
     public static class SingleListViewHolder extends RecyclerView.ViewHolder {
         private ImageView displayIcon;
         private TextView displayTitle;
+        private DText displayDrawable;
 
-        SingleListViewHolder(@NonNull View itemView) {
+        SingleListViewHolder(@NonNull View itemView, DText displayDrawable) {
             super(itemView);
             displayIcon = itemView.findViewById(R.id.display_icon);
             displayTitle = itemView.findViewById(R.id.display_title);
+            this.displayDrawable = displayDrawable;
+            displayIcon.setImageDrawable(displayDrawable);
         }
     }
 
@@ -0,0 +1,315 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext.example;
+
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+import android.widget.AdapterView;
+import android.widget.Button;
+import android.widget.Spinner;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import dev.alshakib.dtext.DText;
+import dev.alshakib.dtext.DTextCache;
+import dev.alshakib.dtext.DTextMetrics;
+import dev.alshakib.dtext.DTextStyle;
+
+// Flings through a large list of synthetic multilingual names for a fixed time,
+// with the binding strategy picked in the spinner. An overlay shows the frame
+// time percentiles from FrameMetrics, the allocations of the run and what the
+// library reports about its own builds and draws, so strategies and library
+// versions can be compared on the same device.
+public class StressActivity extends AppCompatActivity {
+    private static final long RUN_DURATION_MILLIS = 30_000;
+    private static final long OVERLAY_UPDATE_MILLIS = 500;
+    private static final int CACHE_SIZE_BYTES = 8 * 1024 * 1024;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final FrameStats frameStats = new FrameStats();
+    private final DTextMetrics.Aggregator aggregator = new DTextMetrics.Aggregator();
+
+    private RecyclerView recyclerView;
+    private StressAdapter adapter;
+    private TextView overlayView;
+    private Button runButton;
+    private HandlerThread frameMetricsThread;
+    private Window.OnFrameMetricsAvailableListener frameMetricsListener;
+
+    private boolean isRunning;
+    private long runStartMillis;
+    private long startAllocCount;
+    private long startAllocBytes;
+    private long startGcCount;
+
+    private final Runnable updateOverlay = new Runnable() {
+        @Override
+        public void run() {
+            showStats();
+            if (isRunning && System.currentTimeMillis() - runStartMillis >= RUN_DURATION_MILLIS) {
+                stopRun();
+            } else if (isRunning) {
+                handler.postDelayed(this, OVERLAY_UPDATE_MILLIS);
+            }
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress);
+        overlayView = findViewById(R.id.stress_overlay);
+        recyclerView = findViewById(R.id.stress_list_view);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new StressAdapter(createStyle(null),
+                createStyle(new DTextCache(CACHE_SIZE_BYTES)), SyntheticNames.DEFAULT_COUNT);
+        recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                // Keep flinging until the run is over.
+                if (isRunning && newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    fling();
+                }
+            }
+        });
+
+        Spinner strategySpinner = findViewById(R.id.stress_strategy_spinner);
+        strategySpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                if (isRunning) {
+                    stopRun();
+                }
+                adapter.setStrategy(position);
+                recyclerView.scrollToPosition(0);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+        runButton = findViewById(R.id.stress_run_button);
+        runButton.setOnClickListener(v -> {
+            if (isRunning) {
+                stopRun();
+            } else {
+                startRun();
+            }
+        });
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (isRunning) {
+            stopRun();
+        }
+    }
+
+    private DTextStyle createStyle(DTextCache cache) {
+        DText.Builder builder = new DText.Builder();
+        builder.drawAsRound();
+        builder.useSpAndDp(this);
+        builder.boldText();
+        builder.hashBackgroundColor();
+        builder.initials();
+        builder.skipParticles();
+        builder.skipHonorifics();
+        builder.skipBracketedText();
+        builder.alphaNumOnly();
+        builder.toUpperCase();
+        builder.setCache(cache);
+        return builder.buildStyle();
+    }
+
+    @SuppressWarnings("deprecation")
+    private void startRun() {
+        isRunning = true;
+        runButton.setText(R.string.stress_stop);
+        recyclerView.scrollToPosition(0);
+        frameStats.reset();
+        aggregator.reset();
+        DTextMetrics.install(aggregator);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            startFrameMetrics();
+        }
+        // Counts the allocations of the whole process, including the app's own.
+        Debug.resetAllCounts();
+        Debug.startAllocCounting();
+        startAllocCount = Debug.getGlobalAllocCount();
+        startAllocBytes = Debug.getGlobalAllocSize();
+        startGcCount = getGcCount();
+        runStartMillis = System.currentTimeMillis();
+        fling();
+        handler.postDelayed(updateOverlay, OVERLAY_UPDATE_MILLIS);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void stopRun() {
+        // Show the final numbers before anything is reset.
+        showStats();
+        isRunning = false;
+        runButton.setText(R.string.stress_start);
+        handler.removeCallbacks(updateOverlay);
+        recyclerView.stopScroll();
+        Debug.stopAllocCounting();
+        DTextMetrics.install(null);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            stopFrameMetrics();
+        }
+    }
+
+    private void fling() {
+        recyclerView.fling(0, recyclerView.getMaxFlingVelocity());
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void startFrameMetrics() {
+        frameMetricsThread = new HandlerThread("FrameMetrics");
+        frameMetricsThread.start();
+        frameMetricsListener = (window, frameMetrics, dropCount) ->
+                frameStats.add(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION));
+        getWindow().addOnFrameMetricsAvailableListener(frameMetricsListener,
+                new Handler(frameMetricsThread.getLooper()));
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void stopFrameMetrics() {
+        getWindow().removeOnFrameMetricsAvailableListener(frameMetricsListener);
+        frameMetricsThread.quitSafely();
+        frameMetricsListener = null;
+        frameMetricsThread = null;
+    }
+
+    private static long getGcCount() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            String gcCount = Debug.getRuntimeStat("art.gc.gc-count");
+            if (gcCount != null) {
+                return Long.parseLong(gcCount);
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("deprecation")
+    private void showStats() {
+        if (!isRunning) {
+            return;
+        }
+        float refreshRate = getWindowManager().getDefaultDisplay().getRefreshRate();
+        long frameBudgetNanos = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60));
+        DTextMetrics.Snapshot snapshot = aggregator.snapshot();
+        String[] strategies = getResources().getStringArray(R.array.stress_strategies);
+        StringBuilder text = new StringBuilder()
+                .append(strategies[adapter.getStrategy()]).append('\n')
+                .append(String.format(Locale.US, "time      %.1f s\n",
+                        (System.currentTimeMillis() - runStartMillis) / 1000f));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            text.append(frameStats.describe(frameBudgetNanos));
+        } else {
+            text.append("frames    FrameMetrics needs Android 7.0\n");
+        }
+        text.append(String.format(Locale.US, "allocs    %d (%d KB)\n",
+                Debug.getGlobalAllocCount() - startAllocCount,
+                (Debug.getGlobalAllocSize() - startAllocBytes) / 1024))
+                .append(String.format(Locale.US, "gc        %d\n", getGcCount() - startGcCount))
+                .append(String.format(Locale.US, "builds    %d, avg %.1f µs\n",
+                        snapshot.getBuildCount(), average(snapshot.getBuildNanos(),
+                                snapshot.getBuildCount()) / 1000))
+                .append(String.format(Locale.US, "draws     %d, avg %.1f µs\n",
+                        snapshot.getDrawCount(), average(snapshot.getDrawNanos(),
+                                snapshot.getDrawCount()) / 1000))
+                .append(String.format(Locale.US, "cache     %d hits, %d misses",
+                        snapshot.getCacheHitCount(), snapshot.getCacheMissCount()));
+        overlayView.setText(text);
+    }
+
+    private static double average(long total, long count) {
+        return count > 0 ? (double) total / count : 0;
+    }
+
+    // Frame durations of a run. They are added on the FrameMetrics thread and read
+    // on the main thread, so every access is synchronized.
+    private static final class FrameStats {
+        private static final int MAX_FRAMES = 1 << 16;
+
+        private final long[] durations = new long[MAX_FRAMES];
+        private int count;
+
+        synchronized void add(long durationNanos) {
+            if (count < MAX_FRAMES) {
+                durations[count++] = durationNanos;
+            }
+        }
+
+        synchronized void reset() {
+            count = 0;
+        }
+
+        synchronized String describe(long frameBudgetNanos) {
+            if (count == 0) {
+                return "frames    0\n";
+            }
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            int jankCount = 0;
+            for (long duration : sorted) {
+                if (duration > frameBudgetNanos) {
+                    jankCount++;
+                }
+            }
+            return String.format(Locale.US,
+                    "frames    %d, janky %.1f%%\n" +
+                            "p50 %.1f  p90 %.1f  p95 %.1f  p99 %.1f ms\n",
+                    count, 100f * jankCount / count,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = Math.min(sorted.length - 1, (int) (sorted.length * percentile));
+            return sorted[index] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext.example;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import dev.alshakib.dtext.DText;
+import dev.alshakib.dtext.DTextStyle;
+import dev.alshakib.dtext.DTextView;
+
+// Binds the synthetic names with one of the ways the library can be used, so the
+// stress screen can compare them against the same list.
+class StressAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+    // A new drawable for every bind, set on an ImageView.
+    static final int STRATEGY_NEW_DRAWABLE = 0;
+    // One drawable for each ViewHolder, rebound to the text.
+    static final int STRATEGY_REBIND = 1;
+    // Same as rebind, but drawing bitmaps from the shared cache.
+    static final int STRATEGY_BITMAP_CACHE = 2;
+    // A DTextView instead of an ImageView.
+    static final int STRATEGY_DTEXT_VIEW = 3;
+    // The async loader, DText.load(style, text).into(imageView).
+    static final int STRATEGY_LOADER = 4;
+
+    private final DTextStyle style;
+    private final DTextStyle cachedStyle;
+    private final int itemCount;
+    private int strategy;
+
+    StressAdapter(DTextStyle style, DTextStyle cachedStyle, int itemCount) {
+        this.style = style;
+        this.cachedStyle = cachedStyle;
+        this.itemCount = itemCount;
+    }
+
+    public void setStrategy(int strategy) {
+        this.strategy = strategy;
+        notifyDataSetChanged();
+    }
+
+    public int getStrategy() {
+        return this.strategy;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return strategy;
+    }
+
+    @Override
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == STRATEGY_DTEXT_VIEW) {
+            View itemView = inflater.inflate(R.layout.view_holder_dtext_view, parent, false);
+            DTextView displayIcon = itemView.findViewById(R.id.display_icon);
+            displayIcon.setStyle(style);
+            return new StressViewHolder(itemView, null);
+        }
+        View itemView = inflater.inflate(R.layout.view_holder_single_list, parent, false);
+        DText displayDrawable = null;
+        if (viewType == STRATEGY_REBIND) {
+            displayDrawable = style.newDrawable("");
+        } else if (viewType == STRATEGY_BITMAP_CACHE) {
+            displayDrawable = cachedStyle.newDrawable("");
+        }
+        return new StressViewHolder(itemView, displayDrawable);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        StressViewHolder stressViewHolder = (StressViewHolder) holder;
+        String name = SyntheticNames.get(position);
+        stressViewHolder.displayTitle.setText(name);
+        switch (holder.getItemViewType()) {
+            case STRATEGY_NEW_DRAWABLE:
+                ((ImageView) stressViewHolder.displayIcon)
+                        .setImageDrawable(style.newDrawable(name));
+                break;
+            case STRATEGY_REBIND:
+            case STRATEGY_BITMAP_CACHE:
+                stressViewHolder.displayDrawable.setText(name);
+                break;
+            case STRATEGY_DTEXT_VIEW:
+                ((DTextView) stressViewHolder.displayIcon).setText(name);
+                break;
+            case STRATEGY_LOADER:
+                DText.load(style, name).into((ImageView) stressViewHolder.displayIcon);
+                break;
+            default:
+                break;
+        }
+    }
+
+    static class StressViewHolder extends RecyclerView.ViewHolder {
+        private final View displayIcon;
+        private final TextView displayTitle;
+        private final DText displayDrawable;
+
+        StressViewHolder(@NonNull View itemView, DText displayDrawable) {
+            super(itemView);
+            displayIcon = itemView.findViewById(R.id.display_icon);
+            displayTitle = itemView.findViewById(R.id.display_title);
+            this.displayDrawable = displayDrawable;
+            if (displayDrawable != null) {
+                ((ImageView) displayIcon).setImageDrawable(displayDrawable);
+            }
+        }
+    }
+}
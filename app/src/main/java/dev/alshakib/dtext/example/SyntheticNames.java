@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext.example;
+
+// Generates a large, repeatable list of display names in many scripts, with the
+// titles, particles, brackets and emoji that real contact lists have. A name is
+// derived from its position only, so every run scrolls through the same names
+// without holding them all in memory.
+final class SyntheticNames {
+    static final int DEFAULT_COUNT = 200_000;
+
+    private static final String[] GIVEN_NAMES = {
+            "Al", "John", "Maria", "José", "Zoë", "Jean-Luc", "Ludwig", "Aoife", "Søren",
+            "Łukasz", "Amélie", "Ngozi", "Kwame", "Priya", "Mei", "Omar"
+    };
+    private static final String[] FAMILY_NAMES = {
+            "Shakib", "Appleseed", "Garcia", "van Beethoven", "O'Brien", "Núñez",
+            "de la Cruz", "Müller", "Kowalski", "Smith", "Okafor", "Mensah", "Nakamura"
+    };
+    private static final String[] FULL_NAMES = {
+            // CJK
+            "山田太郎", "王小明", "김민준", "李华", "佐藤 花子", "陈 伟", "박서연", "鈴木 一郎",
+            // Cyrillic
+            "Иван Петров", "Анна Смирнова", "Дмитрий Иванов", "Ольга Кузнецова",
+            // Arabic
+            "محمد علي", "فاطمة الزهراء", "عبد الله", "ليلى أحمد",
+            // Bengali
+            "আল শাকিব", "রবীন্দ্রনাথ ঠাকুর", "কাজী নজরুল ইসলাম", "সুমাইয়া",
+            // Devanagari
+            "अमित शर्मा", "प्रिया पटेल", "राहुल गुप्ता",
+            // Greek, Hebrew, Thai
+            "Νίκος Παπαδόπουλος", "דוד כהן", "สมชาย ใจดี"
+    };
+    private static final String[] PREFIXES = {
+            "", "", "", "", "", "", "Dr. ", "Mr. ", "Ms. ", "👩‍💻 ", "🇧🇩 ", "✨ ", "  "
+    };
+    private static final String[] SUFFIXES = {
+            "", "", "", "", "", "", " (Work)", " Jr.", " [Old]", " 👍🏽", " 2", "  "
+    };
+
+    private SyntheticNames() {
+    }
+
+    static String get(int position) {
+        int hash = mix(position);
+        String name;
+        if ((hash & 3) != 0) {
+            name = GIVEN_NAMES[index(hash >>> 2, GIVEN_NAMES.length)] + " " +
+                    FAMILY_NAMES[index(hash >>> 8, FAMILY_NAMES.length)];
+        } else {
+            name = FULL_NAMES[index(hash >>> 2, FULL_NAMES.length)];
+        }
+        return PREFIXES[index(hash >>> 14, PREFIXES.length)] + name +
+                SUFFIXES[index(hash >>> 20, SUFFIXES.length)];
+    }
+
+    private static int index(int bits, int length) {
+        return (bits & 0xFFFF) % length;
+    }
+
+    // A finalizer that spreads consecutive positions over all the names.
+    private static int mix(int value) {
+        value ^= value >>> 16;
+        value *= 0x85EBCA6B;
+        value ^= value >>> 13;
+        value *= 0xC2B2AE35;
+        value ^= value >>> 16;
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+public class ColorPickerBenchmark {
+    @Param({NameCorpus.ASCII, NameCorpus.CJK, NameCorpus.BENGALI, NameCorpus.EMOJI,
+            NameCorpus.LONG})
+    public String corpus;
+
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        names = NameCorpus.get(corpus);
+    }
+
+    @Benchmark
+    public void pickByKey(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(ColorPicker.pickByKey(name, ColorPicker.DEFAULT_COLORS));
+        }
+    }
+
+    @Benchmark
+    public void pickRandom(Blackhole blackhole) {
+        for (int i = 0; i < names.length; i++) {
+            blackhole.consume(ColorPicker.pickRandom(ColorPicker.DEFAULT_COLORS));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+public class LabelResolverBenchmark {
+    @Param({NameCorpus.ASCII, NameCorpus.CJK, NameCorpus.BENGALI, NameCorpus.EMOJI,
+            NameCorpus.LONG})
+    public String corpus;
+
+    private String[] names;
+    private LabelResolver fullText;
+    private LabelResolver firstChar;
+    private LabelResolver alphaNumFirstChar;
+    private LabelResolver digitFirstChar;
+    private LabelResolver initials;
+
+    @Setup
+    public void setup() {
+        names = NameCorpus.get(corpus);
+        fullText = new LabelResolver(true, false, false, false);
+        firstChar = new LabelResolver(true, true, false, false);
+        alphaNumFirstChar = new LabelResolver(true, true, false, true);
+        digitFirstChar = new LabelResolver(true, true, true, false);
+        initials = new LabelResolver(true, false, false, true, true,
+                InitialsScanner.SKIP_PARTICLES | InitialsScanner.SKIP_HONORIFICS |
+                        InitialsScanner.SKIP_BRACKETED_TEXT);
+    }
+
+    @Benchmark
+    public void fullText(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(fullText.getValidText(name, null, null));
+        }
+    }
+
+    @Benchmark
+    public void firstChar(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(firstChar.getValidText(name, null, null));
+        }
+    }
+
+    @Benchmark
+    public void alphaNumFirstChar(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(alphaNumFirstChar.getValidText(name, null, null));
+        }
+    }
+
+    @Benchmark
+    public void digitFirstChar(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(digitFirstChar.getValidText(name, null, null));
+        }
+    }
+
+    @Benchmark
+    public void firstAndLastChar(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(alphaNumFirstChar.getValidText(name, name, name));
+        }
+    }
+
+    @Benchmark
+    public void initials(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(initials.getValidText(name, null, null));
+        }
+    }
+
+    // The regular expression filter the library used before, as a reference point.
+    @Benchmark
+    public void alphaNumFirstCharRegex(Blackhole blackhole) {
+        for (String name : names) {
+            String text = name.trim().replaceAll("[^\\p{L}\\p{Nl}\\p{Nd}]", "");
+            blackhole.consume(text.isEmpty() ? "•" : String.valueOf(text.charAt(0)).toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+// Realistic display names of the scripts and shapes the library has to handle.
+final class NameCorpus {
+    static final String ASCII = "ascii";
+    static final String CJK = "cjk";
+    static final String BENGALI = "bengali";
+    static final String EMOJI = "emoji";
+    static final String LONG = "long";
+
+    private static final String[] ASCII_NAMES = {
+            "Al Shakib", "john appleseed", "<Unknown>", "  Maria Garcia  ", "O'Brien",
+            "+1 (555) 010-2030", "dr. Jane Doe", "You have 4 notifications"
+    };
+
+    private static final String[] CJK_NAMES = {
+            "山田太郎", "王小明", "김민준", "李华", "佐藤 花子", "（未知）", "陈 伟", "박서연"
+    };
+
+    private static final String[] BENGALI_NAMES = {
+            "আল শাকিব", "রবীন্দ্রনাথ ঠাকুর", "কাজী নজরুল ইসলাম", "সুমাইয়া", "ক্ষিতিশ",
+            "আপনার ৪টি বার্তা", "শ্রীকান্ত", "(অজানা)"
+    };
+
+    private static final String[] EMOJI_NAMES = {
+            "👩‍💻 Developer", "👍🏽 Thanks", "🇧🇩 Dhaka", "❤️ Family", "1️⃣ First",
+            "👨‍👩‍👧‍👦 Home", "🏳️‍🌈 Pride", "✨ Sparkle"
+    };
+
+    private NameCorpus() {
+    }
+
+    static String[] get(String corpus) {
+        switch (corpus) {
+            case ASCII:
+                return ASCII_NAMES;
+            case CJK:
+                return CJK_NAMES;
+            case BENGALI:
+                return BENGALI_NAMES;
+            case EMOJI:
+                return EMOJI_NAMES;
+            case LONG:
+                return longNames();
+            default:
+                throw new IllegalArgumentException("Unknown corpus " + corpus);
+        }
+    }
+
+    // Names of a few thousand characters, with the first letter near the end.
+    private static String[] longNames() {
+        String[] names = new String[ASCII_NAMES.length];
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = 0; j < 500; j++) {
+                builder.append(" -_ ");
+            }
+            names[i] = builder.append(ASCII_NAMES[i]).toString();
+        }
+        return names;
+    }
+}
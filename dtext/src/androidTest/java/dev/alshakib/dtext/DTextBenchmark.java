@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks that need the rendering of a device. Run them on a physical device with
+// ./gradlew :dtext:connectedAndroidTest, the results are written as JSON to
+// build/outputs/connected_android_test_additional_output.
+@RunWith(AndroidJUnit4.class)
+public class DTextBenchmark {
+    // A 48dp avatar on an xxxhdpi display.
+    private static final int SIZE_PX = 192;
+    private static final int BULK_TEXT_COUNT = 200;
+    private static final String[] NAMES = {
+            "Alice Smith", "bob", "<Unknown> user", "Émile Zola", "李小龙", "محمد علي",
+            "👩‍💻 Coder", "123 Main", "Zoë Saldaña", "রবীন্দ্রনাথ ঠাকুর"
+    };
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    // Compare with draw_layoutInEveryDraw, the draw() of the library before the text
+    // layout moved to onBoundsChange.
+    @Test
+    public void draw() {
+        DText dText = newDrawable();
+        Canvas canvas = newCanvas();
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dText.draw(canvas);
+        }
+    }
+
+    @Test
+    public void draw_layoutInEveryDraw() {
+        DText dText = newDrawable();
+        Canvas canvas = newCanvas();
+        Paint paint = dText.getPaint();
+        Paint textPaint = dText.getStyle().newTextPaint();
+        RectF shapeBounds = new RectF(dText.getBounds());
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            drawWithLayoutPerFrame(dText, canvas, paint, textPaint, shapeBounds);
+        }
+    }
+
+    // Both cache miss benchmarks start from an empty memory cache, like the first draw
+    // after a restart. Compare their results to see if the disk tier pays off.
+    @Test
+    public void cacheMiss_render() {
+        DTextCache cache = new DTextCache(4 * 1024 * 1024);
+        DText dText = newCachedDrawable(cache);
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            cache.evictAll();
+            state.resumeTiming();
+            dText.prerender();
+        }
+    }
+
+    @Test
+    public void cacheMiss_readFromDisk() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DTextDiskCache diskCache = new DTextDiskCache(context, 4 * 1024 * 1024);
+        diskCache.evictAll();
+        DTextCache cache = new DTextCache(4 * 1024 * 1024);
+        cache.setDiskCache(diskCache);
+        DText dText = newCachedDrawable(cache);
+        // Write the bitmap to disk once.
+        dText.prerender();
+        diskCache.awaitWrites(10, TimeUnit.SECONDS);
+
+        try {
+            BenchmarkState state = benchmarkRule.getState();
+            while (state.keepRunning()) {
+                state.pauseTiming();
+                cache.evictAll();
+                state.resumeTiming();
+                dText.prerender();
+            }
+        } finally {
+            diskCache.evictAll();
+        }
+    }
+
+    // Both render into new bitmaps, like an export of a contact list would. Compare
+    // them to see what the worker threads gain on the device.
+    @Test
+    public void renderAll() {
+        DTextStyle style = newBulkStyle();
+        List<String> texts = newBulkTexts();
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            DText.renderAll(style, texts, SIZE_PX);
+        }
+    }
+
+    @Test
+    public void renderAll_oneDrawableAtATime() {
+        DTextStyle style = newBulkStyle();
+        List<String> texts = newBulkTexts();
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (String text : texts) {
+                Bitmap bitmap = Bitmap.createBitmap(SIZE_PX, SIZE_PX,
+                        Bitmap.Config.ARGB_8888);
+                DText dText = style.newDrawable(text);
+                dText.setBounds(0, 0, SIZE_PX, SIZE_PX);
+                dText.draw(new Canvas(bitmap));
+            }
+        }
+    }
+
+    private static DTextStyle newBulkStyle() {
+        return new DText.Builder()
+                .firstCharOnly()
+                .toUpperCase()
+                .drawAsRound()
+                .hashBackgroundColor()
+                .buildStyle();
+    }
+
+    private static List<String> newBulkTexts() {
+        List<String> texts = new ArrayList<>(BULK_TEXT_COUNT);
+        for (int i = 0; i < BULK_TEXT_COUNT; i++) {
+            texts.add(NAMES[i % NAMES.length] + " " + i);
+        }
+        return texts;
+    }
+
+    private static DText newDrawable() {
+        DText dText = new DText.Builder()
+                .setText("Android")
+                .firstCharOnly()
+                .drawAsRound()
+                .build();
+        dText.setBounds(0, 0, SIZE_PX, SIZE_PX);
+        return dText;
+    }
+
+    private static Canvas newCanvas() {
+        return new Canvas(Bitmap.createBitmap(SIZE_PX, SIZE_PX, Bitmap.Config.ARGB_8888));
+    }
+
+    private static void drawWithLayoutPerFrame(DText dText, Canvas canvas, Paint paint,
+                                               Paint textPaint, RectF shapeBounds) {
+        dText.getStyle().getBuiltInShape().draw(canvas, shapeBounds, paint);
+        Rect bounds = dText.getBounds();
+
+        int savedCanvasCount = canvas.save();
+        canvas.translate(bounds.left, bounds.top);
+
+        float canvasWidth = bounds.width();
+        float canvasHeight = bounds.height();
+        float textSize = Math.min(canvasWidth, canvasHeight) / 2;
+
+        textPaint.setTextSize(textSize);
+        canvas.drawText(dText.getText(), canvasWidth / 2, canvasHeight / 2 -
+                ((textPaint.descent() + textPaint.ascent()) / 2), textPaint);
+
+        canvas.restoreToCount(savedCanvasCount);
+    }
+
+    private static DText newCachedDrawable(DTextCache cache) {
+        DText dText = new DText.Builder()
+                .setText("Android")
+                .firstCharOnly()
+                .drawAsRound()
+                .setCache(cache)
+                .build();
+        dText.setBounds(0, 0, SIZE_PX, SIZE_PX);
+        return dText;
+    }
+}
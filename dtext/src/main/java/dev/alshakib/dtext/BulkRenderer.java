@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.drawable.shapes.Shape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Renders many texts of one style into bitmaps, split across one worker per core.
+// Every worker reuses its own canvas, paints and shape for all of its texts.
+final class BulkRenderer {
+    // Below this, the work is not worth handing to another thread.
+    private static final int MIN_TEXTS_PER_WORKER = 16;
+    private static final int WORKER_COUNT = Runtime.getRuntime().availableProcessors();
+
+    private static ExecutorService executor;
+
+    private BulkRenderer() {
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+                Thread thread = new Thread(runnable, "DTextBulkRenderer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    // New bitmaps are already transparent, only bitmaps of the caller need to be erased.
+    static void render(DTextStyle style, List<? extends CharSequence> texts, Bitmap[] bitmaps,
+                       boolean erase) {
+        int count = texts.size();
+        if (bitmaps.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " bitmaps, but got " +
+                    bitmaps.length);
+        }
+        int workerCount = Math.max(1, Math.min(WORKER_COUNT, count / MIN_TEXTS_PER_WORKER));
+        if (workerCount == 1) {
+            new Worker(style, texts, bitmaps, erase, 0, count).call();
+            return;
+        }
+        List<Callable<Void>> workers = new ArrayList<>(workerCount);
+        int chunkSize = (count + workerCount - 1) / workerCount;
+        for (int start = 0; start < count; start += chunkSize) {
+            workers.add(new Worker(style, texts, bitmaps, erase, start,
+                    Math.min(start + chunkSize, count)));
+        }
+        try {
+            for (Future<Void> future : getExecutor().invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering is interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Worker implements Callable<Void> {
+        private final DTextStyle style;
+        private final List<? extends CharSequence> texts;
+        private final Bitmap[] bitmaps;
+        private final boolean erase;
+        private final int start;
+        private final int end;
+
+        Worker(DTextStyle style, List<? extends CharSequence> texts, Bitmap[] bitmaps,
+               boolean erase, int start, int end) {
+            this.style = style;
+            this.texts = texts;
+            this.bitmaps = bitmaps;
+            this.erase = erase;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Void call() {
+            Canvas canvas = new Canvas();
+            Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            Paint textPaint = style.newTextPaint();
+            DTextStyle.Sizes sizes = style.getSizes();
+            DTextShape builtInShape = style.getBuiltInShape();
+            Shape shape = builtInShape == null ? style.newShape() : null;
+            float inset = TextLayout.getInset(style);
+            TextLayout textLayout = new TextLayout();
+            RectF shapeBounds = new RectF();
+            int width = -1;
+            int height = -1;
+            float textSize = 0;
+            for (int i = start; i < end; i++) {
+                Bitmap bitmap = bitmaps[i];
+                CharSequence text = texts.get(i);
+                String label = style.getValidText(text, null, null);
+                boolean resized = bitmap.getWidth() != width || bitmap.getHeight() != height;
+                if (resized) {
+                    // Resize the shape only when the size changes.
+                    width = bitmap.getWidth();
+                    height = bitmap.getHeight();
+                    textSize = sizes.textSize < 0 ? (Math.min(width, height) / 2f) : sizes.textSize;
+                    if (shape != null) {
+                        shape.resize(width, height);
+                    }
+                    shapeBounds.set(0, 0, width, height);
+                }
+                if (resized || style.isAutoFitText()) {
+                    // Fitted text depends on the label, anything else only on the size.
+                    textLayout.update(style, sizes, label, textPaint.getTypeface(), shapeBounds,
+                            textSize, inset);
+                    textPaint.setTextSize(textLayout.textSize);
+                }
+                if (erase) {
+                    bitmap.eraseColor(Color.TRANSPARENT);
+                }
+                canvas.setBitmap(bitmap);
+                backgroundPaint.setColor(style.getValidBackgroundColor(text, null));
+                if (shape != null) {
+                    shape.draw(canvas, backgroundPaint);
+                } else {
+                    builtInShape.draw(canvas, shapeBounds, backgroundPaint);
+                }
+                textLayout.draw(canvas, label, textPaint);
+            }
+            canvas.setBitmap(null);
+            return null;
+        }
+    }
+}
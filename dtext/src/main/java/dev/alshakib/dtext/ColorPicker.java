@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Picks background colors from a palette of already parsed ARGB colors.
+final class ColorPicker {
+    static final int[] DEFAULT_COLORS = {
+            0xFFDB4437,
+            0xFFE91E63,
+            0xFF9C27B0,
+            0xFF673AB7,
+            0xFF3F51B5,
+            0xFF4285F4,
+            0xFF039BE5,
+            0xFF0097A7,
+            0xFF009688,
+            0xFF0F9D58,
+            0xFF689F38,
+            0xFFEF6C00,
+            0xFFFF5722,
+            0xFF757575
+    };
+
+    private ColorPicker() {
+    }
+
+    static int pickRandom(int[] palette) {
+        palette = validPalette(palette);
+        return palette[ThreadLocalRandom.current().nextInt(palette.length)];
+    }
+
+    // Same key always gives the same color, across rebinds and process restarts.
+    static int pickByKey(CharSequence key, int[] palette) {
+        palette = validPalette(palette);
+        return palette[Math.abs(stableHash(key) % palette.length)];
+    }
+
+    // The hash of the key without its leading and trailing whitespace. It uses the
+    // same polynomial as String.hashCode(), which is specified and therefore stable,
+    // followed by a finalizer to spread similar keys over the palette.
+    static int stableHash(CharSequence key) {
+        if (key == null) {
+            return 0;
+        }
+        int start = 0;
+        int end = key.length();
+        while (start < end && key.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && key.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static int[] validPalette(int[] palette) {
+        return palette == null || palette.length == 0 ? DEFAULT_COLORS : palette;
+    }
+}
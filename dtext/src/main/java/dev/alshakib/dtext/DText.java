@@ -28,176 +28,393 @@
 package dev.alshakib.dtext;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ColorFilter;
+import android.graphics.Outline;
 import android.graphics.Paint;
+import android.graphics.Picture;
 import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
 import android.graphics.drawable.ShapeDrawable;
 import android.graphics.drawable.shapes.OvalShape;
 import android.graphics.drawable.shapes.RectShape;
 import android.graphics.drawable.shapes.RoundRectShape;
 import android.graphics.drawable.shapes.Shape;
-import android.util.TypedValue;
+import android.os.Build;
 
+import androidx.annotation.ArrayRes;
 import androidx.annotation.NonNull;
 
-import java.util.ArrayList;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
+// A DText can be built on any thread, for example by DTextPrefetcher or
+// BulkRenderer, and handed to the main thread through a safe publication such as
+// a Handler or an executor. Like any Drawable, a single instance must then be
+// used by one thread at a time.
 public class DText extends ShapeDrawable {
-    private final Builder builder;
     private final Paint textPaint;
+    // Bounds of a built-in shape, that is drawn without a Shape
+    private final RectF shapeBounds = new RectF();
+
+    // Sizes in pixels of the style, for the current display metrics
+    private DTextStyle.Sizes sizes;
+
+    private DTextState state;
+    private boolean mutated;
+
+    // Alpha and color filter belong to this instance, like in the framework drawables,
+    // so they are never shared with other drawables of the same constant state.
+    private int alpha = 255;
+    private ColorFilter colorFilter;
+    private boolean tinted;
+
+    private final TextLayout textLayout = new TextLayout();
+    private final RectF textBox = new RectF();
+
+    private DTextCache.Key cacheKey;
+    private DTextStyle.PictureKey pictureKey;
+    private Picture picture;
+
+    static DText create(DTextStyle style, CharSequence text, CharSequence firstText,
+                        CharSequence lastText, String colorKey) {
+        long start = DTextMetrics.isEnabled() ? System.nanoTime() : 0;
+        // Resolve the label once, so draw() does not need to touch any string.
+        DText dText = new DText(new DTextState(style,
+                style.getValidText(text, firstText, lastText),
+                style.getValidBackgroundColor(text, colorKey)));
+        if (DTextMetrics.isEnabled()) {
+            DTextMetrics.get().onBuild(System.nanoTime() - start);
+        }
+        return dText;
+    }
 
-    private final float height;
-    private final float width;
-    private final float textSize;
-
-    private List<String> randomColorList;
-
-    private DText(Builder builder) {
-        super(builder.shape);
-        this.builder = builder;
-
-        // If context is found, do not use pixel.
-        // Use sp and dp as unit of measurement.
-        height = builder.context != null ? dpToPx(builder.height) : builder.height;
-        width = builder.context != null ? dpToPx(builder.width) : builder.width;
-        textSize = builder.context != null ? spToPx(builder.textSize) : builder.textSize;
-
-        if (builder.isRandomBackgroundColor) {
-            String[] defaultColors = {
-                    "#DB4437",
-                    "#E91E63",
-                    "#9C27B0",
-                    "#673AB7",
-                    "#3F51B5",
-                    "#4285F4",
-                    "#039BE5",
-                    "#0097A7",
-                    "#009688",
-                    "#0F9D58",
-                    "#689F38",
-                    "#EF6C00",
-                    "#FF5722",
-                    "#757575"
-            };
-            randomColorList = builder.randomColorList == null ?
-                    new ArrayList<>(Arrays.asList(defaultColors)) :
-                    builder.randomColorList;
-        }
+    private DText(DTextState state) {
+        // Built-in shapes are drawn directly, so ShapeDrawable gets no shape to resize.
+        super(state.style.getBuiltInShape() != null ? null : state.style.newShape());
+        this.state = state;
+        this.sizes = state.style.getSizes();
 
         // Initialize paint class for text
-        textPaint = new Paint();
-        textPaint.setAntiAlias(true);
-        textPaint.setStyle(Paint.Style.FILL);
-        textPaint.setTextAlign(Paint.Align.CENTER);
-        textPaint.setColor(builder.textColor);
-        textPaint.setTypeface(builder.typeface);
-
-        int backgroundColor = builder.isRandomBackgroundColor ?
-                getRandomColor() : builder.backgroundColor;
+        textPaint = state.style.newTextPaint();
 
         // Initialize paint class for background
         Paint paint = getPaint();
-        paint.setColor(backgroundColor);
+        paint.setColor(state.backgroundColor);
+
+        updateTextLayout(getBounds());
     }
 
-    // Use to convert Density-independent Pixels to Pixels
-    private float dpToPx(float dp) {
-        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp,
-                builder.context.getResources().getDisplayMetrics());
+    public DTextStyle getStyle() {
+        return state.style;
     }
 
-    // Use to convert Scale-independent Pixels to Pixels
-    private float spToPx(float sp) {
-        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, sp,
-                builder.context.getResources().getDisplayMetrics());
+    // The resolved text, that is drawn on the canvas.
+    public String getText() {
+        return state.text;
     }
 
-    private String getValidFirstChar(String text) {
-        // Remove non digit characters if isDigitOnly is set.
-        // If the text is "You have 4 notifications", the library will build "4" as a drawable.
-        text = builder.isDigitOnly ? text.replaceAll("[^\\p{Nd}]", "") : text;
+    // Rebind this drawable to another text, like when a ViewHolder is bound to another
+    // item. If the style picks the background color from the hash of the text, the color
+    // is picked again as well. The size does not change, so it only invalidates itself.
+    public void setText(String text) {
+        setText((CharSequence) text);
+    }
 
-        // Remove non Alpha Numeric characters if isAlphaNumOnly is set.
-        // If the text is "<Unknown>", the library will not build "<" as a drawable.
-        // The library will build "U" as a drawable.
-        text = builder.isAlphaNumOnly ? text.replaceAll("[^\\p{L}\\p{Nl}\\p{Nd}]", "") : text;
+    public void setText(CharSequence text) {
+        DTextStyle style = state.style;
+        int backgroundColor = style.isHashBackgroundColor() ?
+                style.getValidBackgroundColor(text, null) : state.backgroundColor;
+        rebind(style.getValidText(text, null, null), backgroundColor);
+    }
 
-        return String.valueOf(text.charAt(0));
+    // Rebind to a part of a char array, like the buffer of a database cursor, without
+    // copying it into a string first. The chars are read right away.
+    public void setText(char[] chars, int offset, int length) {
+        setText(CharBuffer.wrap(chars, offset, length));
     }
 
-    private String getValidText() {
-        String text;
-        if (builder.firstText != null && builder.lastText != null) {
-            if (builder.isFirstCharOnly) {
-                String first = getValidFirstChar(builder.firstText.trim());
-                String last = getValidFirstChar(builder.lastText.trim());
-                if (first.isEmpty() && last.isEmpty()) {
-                    // Build a dot as a drawable, if no valid text is found.
-                    return "•";
+    public void setBackgroundColor(int color) {
+        rebind(state.text, color);
+    }
+
+    public int getBackgroundColor() {
+        return state.backgroundColor;
+    }
+
+    // Update the resolved text and background color, and redraw only if any of them changed.
+    void rebind(String text, int backgroundColor) {
+        if (text.equals(state.text) && backgroundColor == state.backgroundColor) {
+            return;
+        }
+        // Do not change the state shared with other instances.
+        mutate();
+        state.text = text;
+        state.backgroundColor = backgroundColor;
+        getPaint().setColor(backgroundColor);
+        updateTextLayout(getBounds());
+        updateCacheKey(getBounds());
+        updatePictureKey(getBounds());
+        invalidateSelf();
+    }
+
+    // Load the DText of the text into an image view, with DText.load(style, text).into(view).
+    // Requests of the same style and text share one build, and a view that is rebound
+    // to another text drops its old request.
+    public static DTextRequest load(@NonNull DTextStyle style, String text) {
+        return new DTextRequest(style, text);
+    }
+
+    // Render all texts with the given style into square bitmaps of the given size
+    // in pixels. The texts are split across one worker thread per core.
+    public static List<Bitmap> renderAll(DTextStyle style, List<? extends CharSequence> texts,
+                                         int sizePx) {
+        Bitmap[] bitmaps = new Bitmap[texts.size()];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+        }
+        BulkRenderer.render(style, texts, bitmaps, false);
+        return Arrays.asList(bitmaps);
+    }
+
+    // Render all texts with the given style into the given mutable bitmaps,
+    // one bitmap for each text.
+    public static void renderAll(DTextStyle style, List<? extends CharSequence> texts,
+                                 Bitmap[] bitmaps) {
+        BulkRenderer.render(style, texts, bitmaps, true);
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        shapeBounds.set(bounds);
+        updateTextLayout(bounds);
+        updateCacheKey(bounds);
+        updatePictureKey(bounds);
+    }
+
+    private void updatePictureKey(Rect bounds) {
+        picture = null;
+        if (state.style.isPictureCache() && !bounds.isEmpty()) {
+            pictureKey = state.style.newPictureKey(state.text, getPaint().getColor(),
+                    bounds.width(), bounds.height());
+        } else {
+            pictureKey = null;
+        }
+    }
+
+    private void updateCacheKey(Rect bounds) {
+        DTextStyle style = state.style;
+        if (style.getCache() != null && !bounds.isEmpty()) {
+            // Build the cache key here, so draw() does not allocate one for every frame.
+            cacheKey = new DTextCache.Key(state.text, style.getTextColor(), getPaint().getColor(),
+                    style.getShapeClass(), style.getCustomShapeTemplate(), style.getRadius(),
+                    style.getTypeface(), textPaint.getTextSize(), style.isAutoFitText(),
+                    style.getMaxLines(), sizes.minTextSize, sizes.width, sizes.height,
+                    bounds.width(), bounds.height(), sizes.density, sizes.generation);
+        } else {
+            cacheKey = null;
+        }
+    }
+
+    // Text size and position only change with bounds, so measure them here
+    // instead of in every draw() call.
+    private void updateTextLayout(Rect bounds) {
+        float canvasWidth = sizes.width < 0 ? bounds.width() : sizes.width;
+        float canvasHeight = sizes.height < 0 ? bounds.height() : sizes.height;
+        float textSize = sizes.textSize < 0 ?
+                (Math.min(canvasWidth, canvasHeight) / 2) : sizes.textSize;
+        textBox.set(bounds.left, bounds.top, bounds.left + canvasWidth, bounds.top + canvasHeight);
+        // Auto fitted text is fit into the largest box inside the shape.
+        textLayout.update(state.style, sizes, state.text, textPaint.getTypeface(), textBox,
+                textSize, TextLayout.getInset(state.style));
+        textPaint.setTextSize(textLayout.textSize);
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        DTextStyle.Sizes currentSizes = state.style.getSizes();
+        if (currentSizes != sizes) {
+            // The density or the font scale changed since the last layout.
+            sizes = currentSizes;
+            Rect bounds = getBounds();
+            updateTextLayout(bounds);
+            updateCacheKey(bounds);
+            updatePictureKey(bounds);
+        }
+        if (DTextMetrics.isEnabled()) {
+            long start = System.nanoTime();
+            drawWithCache(canvas);
+            DTextMetrics.get().onDraw(System.nanoTime() - start);
+        } else {
+            drawWithCache(canvas);
+        }
+    }
+
+    // Alpha, color filter and tint belong to this instance only, so a drawable that
+    // uses any of them must not draw from or into the bitmaps and pictures it shares.
+    private boolean isShareable() {
+        return alpha == 255 && colorFilter == null && !tinted;
+    }
+
+    private void drawWithCache(Canvas canvas) {
+        if (cacheKey != null && isShareable()) {
+            Bitmap bitmap = state.style.getCache().get(cacheKey);
+            if (bitmap == null) {
+                if (DTextMetrics.isEnabled()) {
+                    DTextMetrics.get().onCacheMiss();
                 }
-                text = first + last;
-            } else {
-                text = builder.text.trim();
+                bitmap = render();
+                state.style.getCache().put(cacheKey, bitmap);
+            } else if (DTextMetrics.isEnabled()) {
+                DTextMetrics.get().onCacheHit();
             }
-        } else {
-            if (builder.isFirstCharOnly) {
-                text = getValidFirstChar(builder.text.trim());
-                if (text.isEmpty()) {
-                    // Build a dot as a drawable, if no valid text is found.
-                    return "•";
+            Rect bounds = getBounds();
+            canvas.drawBitmap(bitmap, bounds.left, bounds.top, null);
+        } else if (pictureKey != null && isShareable() && canDrawPicture(canvas)) {
+            if (picture == null) {
+                picture = state.style.getPicture(pictureKey);
+                if (picture == null) {
+                    picture = record();
+                    state.style.putPicture(pictureKey, picture);
                 }
-            } else {
-                text = builder.text.trim();
             }
+            // Replay the recorded picture scaled to the bounds of this instance. It has
+            // the aspect ratio of the bounds, so it is scaled uniformly.
+            Rect bounds = getBounds();
+            int savedCanvasCount = canvas.save();
+            canvas.translate(bounds.left, bounds.top);
+            float scale = (float) bounds.width() / picture.getWidth();
+            canvas.scale(scale, scale);
+            canvas.drawPicture(picture);
+            canvas.restoreToCount(savedCanvasCount);
+        } else {
+            drawContent(canvas);
         }
-        text = builder.toUpperCase ? text.toUpperCase() : text;
-        return text;
     }
 
-    // Generate random color if isRandomBackgroundColor is set
-    private int getRandomColor() {
-        Random random = new Random(System.currentTimeMillis());
-        return Color.parseColor(randomColorList
-                .get(random.nextInt(randomColorList.size())));
+    // Hardware accelerated canvas can only draw pictures since Android M.
+    private static boolean canDrawPicture(Canvas canvas) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M || !canvas.isHardwareAccelerated();
     }
 
-    @Override
-    public void draw(Canvas canvas) {
-        super.draw(canvas);
+    // Record shape and text into a picture of the size of bounds
+    private Picture record() {
         Rect bounds = getBounds();
+        Picture picture = new Picture();
+        Canvas pictureCanvas = picture.beginRecording(bounds.width(), bounds.height());
+        pictureCanvas.translate(-bounds.left, -bounds.top);
+        drawContent(pictureCanvas);
+        picture.endRecording();
+        return picture;
+    }
 
-        int savedCanvasCount = canvas.save();
-        canvas.translate(bounds.left, bounds.top);
-
-        float canvasWidth = this.width < 0 ? bounds.width() : this.width;
-        float canvasHeight = this.height < 0 ? bounds.height() : this.height;
-        float textSize = this.textSize < 0 ?
-                (Math.min(canvasWidth, canvasHeight) / 2) : this.textSize;
+    // Load the cached bitmap from disk, or render it, in advance. It may read a file,
+    // so it is only called on the background threads of DTextPrefetcher and DTextLoader.
+    void prerender() {
+        DTextCache cache = state.style.getCache();
+        if (cacheKey != null && isShareable() && cache.load(cacheKey) == null) {
+            cache.put(cacheKey, render());
+        }
+    }
 
-        textPaint.setTextSize(textSize);
-        canvas.drawText(getValidText(), canvasWidth / 2, canvasHeight / 2 -
-                ((textPaint.descent() + textPaint.ascent()) / 2), textPaint);
+    // Render shape and text into a bitmap of the size of bounds
+    private Bitmap render() {
+        Rect bounds = getBounds();
+        Bitmap bitmap = Bitmap.createBitmap(bounds.width(), bounds.height(),
+                Bitmap.Config.ARGB_8888);
+        Canvas bitmapCanvas = new Canvas(bitmap);
+        bitmapCanvas.translate(-bounds.left, -bounds.top);
+        drawContent(bitmapCanvas);
+        return bitmap;
+    }
 
-        canvas.restoreToCount(savedCanvasCount);
+    private void drawContent(Canvas canvas) {
+        if (getShape() == null) {
+            state.style.getBuiltInShape().draw(canvas, shapeBounds, getPaint());
+        } else {
+            super.draw(canvas);
+        }
+        textLayout.draw(canvas, state.text, textPaint);
     }
 
     @Override
     public void setAlpha(int alpha) {
+        this.alpha = alpha;
         textPaint.setAlpha(alpha);
     }
 
+    @Override
+    public int getAlpha() {
+        return this.alpha;
+    }
+
     @Override
     public void setColorFilter(ColorFilter cf) {
+        this.colorFilter = cf;
         textPaint.setColorFilter(cf);
     }
 
+    @Override
+    public ColorFilter getColorFilter() {
+        return this.colorFilter;
+    }
+
+    // A tint is only applied by ShapeDrawable, so a tinted built-in shape falls back to it,
+    // and goes back to drawing directly when the tint is removed.
+    @Override
+    public void setTintList(ColorStateList tint) {
+        super.setTintList(tint);
+        tinted = tint != null;
+        if (tinted) {
+            useShapeDrawable();
+        } else {
+            useBuiltInShape();
+        }
+    }
+
+    // Without a tint list, the tint mode has nothing to apply.
+    @Override
+    public void setTintMode(PorterDuff.Mode tintMode) {
+        super.setTintMode(tintMode);
+        if (tinted) {
+            useShapeDrawable();
+        }
+    }
+
+    private void useShapeDrawable() {
+        if (getShape() == null) {
+            setShape(state.style.newShape());
+        }
+    }
+
+    private void useBuiltInShape() {
+        if (getShape() != null && state.style.getBuiltInShape() != null) {
+            setShape(null);
+        }
+    }
+
+    // Elevation shadows and clipping of built-in shapes need no Path.
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        if (getShape() == null) {
+            state.style.getBuiltInShape().getOutline(getBounds(), outline);
+            outline.setAlpha(Color.alpha(getPaint().getColor()) / 255f);
+        } else {
+            super.getOutline(outline);
+        }
+    }
+
     @Override
     public int getOpacity() {
         return PixelFormat.TRANSLUCENT;
@@ -205,20 +422,78 @@ public class DText extends ShapeDrawable {
 
     @Override
     public int getIntrinsicWidth() {
-        return (int) this.width;
+        return (int) state.style.getSizes().width;
     }
 
     @Override
     public int getIntrinsicHeight() {
-        return (int) this.height;
+        return (int) state.style.getSizes().height;
     }
 
+    @Override
+    public ConstantState getConstantState() {
+        state.changingConfigurations = getChangingConfigurations();
+        return state;
+    }
+
+    // Instances created from the same constant state share it, until one of them
+    // is mutated and gets its own copy.
+    @NonNull
+    @Override
+    public Drawable mutate() {
+        if (!mutated && super.mutate() == this) {
+            state = new DTextState(state);
+            mutated = true;
+        }
+        return this;
+    }
+
+    static final class DTextState extends ConstantState {
+        final DTextStyle style;
+        String text;
+        int backgroundColor;
+        int changingConfigurations;
+
+        DTextState(DTextStyle style, String text, int backgroundColor) {
+            this.style = style;
+            this.text = text;
+            this.backgroundColor = backgroundColor;
+        }
+
+        DTextState(DTextState state) {
+            this.style = state.style;
+            this.text = state.text;
+            this.backgroundColor = state.backgroundColor;
+            this.changingConfigurations = state.changingConfigurations;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return new DText(this);
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable(Resources res) {
+            return new DText(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return changingConfigurations;
+        }
+    }
+
+    // Not thread safe, configure a builder on one thread. The styles and drawables
+    // it builds keep their own copies and are not affected by later changes.
     public static final class Builder {
         private Context context;
         private Shape shape;
-        private String text;
-        private String firstText;
-        private String lastText;
+        private int shapeKind;
+        private CharSequence text;
+        private CharSequence firstText;
+        private CharSequence lastText;
         private Typeface typeface;
         private int textColor;
         private float textSize;
@@ -230,20 +505,40 @@ public class DText extends ShapeDrawable {
         private boolean isFirstCharOnly;
         private boolean isDigitOnly;
         private boolean isAlphaNumOnly;
+        private boolean isInitials;
+        private boolean isSkipParticles;
+        private boolean isSkipHonorifics;
+        private boolean isSkipBracketedText;
         private boolean isRandomBackgroundColor;
+        private boolean isHashBackgroundColor;
+        private String colorKey;
         private List<String> randomColorList;
+        private int[] randomColors;
+        private DTextCache cache;
+        private boolean isPictureCache;
+        private boolean isAutoFitText;
+        private int maxLines;
+        private float minTextSize;
 
         public Builder() {
             text = "";
             textSize = -1;
+            maxLines = 1;
+            minTextSize = -1;
             width = -1;
             height = -1;
             backgroundColor = Color.GRAY;
             textColor = Color.WHITE;
             shape = new RectShape();
+            shapeKind = DTextShape.KIND_RECT;
             typeface = Typeface.DEFAULT;
         }
 
+        Context getContext() {
+            return this.context;
+        }
+
+        // Sizes follow later changes of the density and the font scale of the app.
         public Builder useSpAndDp(@NonNull Context context) {
             this.context = context.getApplicationContext();
             return this;
@@ -253,25 +548,47 @@ public class DText extends ShapeDrawable {
             return this.context != null;
         }
 
+        // Every single text overload replaces a first and last name set before, so
+        // firstCharOnly() takes the first char of this text and not of the old names.
         public Builder setText(String text) {
+            return setText((CharSequence) text);
+        }
+
+        public Builder setText(CharSequence text) {
             this.text = text;
+            this.firstText = null;
+            this.lastText = null;
             return this;
         }
 
+        // Use a part of a char array, like the buffer of a database cursor, without
+        // copying it into a string first. The chars are read when the DText is built.
+        public Builder setText(char[] chars, int offset, int length) {
+            return setText(CharBuffer.wrap(chars, offset, length));
+        }
+
         public Builder setText(String first, String last) {
-            this.firstText = first;
-            this.lastText = last;
-            return setText(first + last);
+            return setText(first, last, "");
         }
 
         public Builder setText(String first, String last, String separator) {
+            return setText((CharSequence) first, last, separator);
+        }
+
+        public Builder setText(CharSequence first, CharSequence last) {
+            return setText(first, last, "");
+        }
+
+        // First and last are only joined if the whole text is drawn.
+        public Builder setText(CharSequence first, CharSequence last, CharSequence separator) {
+            this.text = new JoinedText(first, separator, last);
             this.firstText = first;
             this.lastText = last;
-            return setText(first + separator + last);
+            return this;
         }
 
         public String getText() {
-            return this.text;
+            return this.text != null ? this.text.toString() : null;
         }
 
         public Builder setHeight(float height) {
@@ -394,6 +711,74 @@ public class DText extends ShapeDrawable {
             return this.isAlphaNumOnly;
         }
 
+        public Builder enableInitials(boolean flag) {
+            this.isInitials = flag;
+            return this;
+        }
+
+        // Draw the initials of the first and the last word, like "JD" for "John Ronald Doe".
+        // Digit only and alphanumeric only apply to each initial. It takes precedence
+        // over first char only.
+        public Builder initials() {
+            enableInitials(true);
+            return this;
+        }
+
+        public boolean isInitials() {
+            return this.isInitials;
+        }
+
+        public Builder enableSkipParticles(boolean flag) {
+            this.isSkipParticles = flag;
+            return this;
+        }
+
+        // Skip name particles like "van" or "de" in initials, unless it is the first word.
+        public Builder skipParticles() {
+            enableSkipParticles(true);
+            return this;
+        }
+
+        public boolean isSkipParticles() {
+            return this.isSkipParticles;
+        }
+
+        public Builder enableSkipHonorifics(boolean flag) {
+            this.isSkipHonorifics = flag;
+            return this;
+        }
+
+        // Skip titles and suffixes like "Dr." or "Jr." in initials.
+        public Builder skipHonorifics() {
+            enableSkipHonorifics(true);
+            return this;
+        }
+
+        public boolean isSkipHonorifics() {
+            return this.isSkipHonorifics;
+        }
+
+        public Builder enableSkipBracketedText(boolean flag) {
+            this.isSkipBracketedText = flag;
+            return this;
+        }
+
+        // Skip text in brackets like "(Work)" in initials.
+        public Builder skipBracketedText() {
+            enableSkipBracketedText(true);
+            return this;
+        }
+
+        public boolean isSkipBracketedText() {
+            return this.isSkipBracketedText;
+        }
+
+        int getInitialsRules() {
+            return (isSkipParticles ? InitialsScanner.SKIP_PARTICLES : 0) |
+                    (isSkipHonorifics ? InitialsScanner.SKIP_HONORIFICS : 0) |
+                    (isSkipBracketedText ? InitialsScanner.SKIP_BRACKETED_TEXT : 0);
+        }
+
         public Builder enableRandomBackgroundColor(boolean flag) {
             this.isRandomBackgroundColor = flag;
             return this;
@@ -408,15 +793,69 @@ public class DText extends ShapeDrawable {
             return this.isRandomBackgroundColor;
         }
 
+        public Builder enableHashBackgroundColor(boolean flag) {
+            this.isHashBackgroundColor = flag;
+            return this;
+        }
+
+        public Builder hashBackgroundColor() {
+            enableHashBackgroundColor(true);
+            return this;
+        }
+
+        public boolean isHashBackgroundColor() {
+            return this.isHashBackgroundColor;
+        }
+
+        public Builder setColorKey(String colorKey) {
+            this.colorKey = colorKey;
+            return this;
+        }
+
+        public String getColorKey() {
+            return this.colorKey;
+        }
+
         public Builder setRandomColorList(List<String> backgroundColorList) {
             this.randomColorList = backgroundColorList;
+            // Parse the colors once here, instead of every time a color is picked.
+            if (backgroundColorList == null) {
+                this.randomColors = null;
+            } else {
+                int[] colors = new int[backgroundColorList.size()];
+                for (int i = 0; i < colors.length; i++) {
+                    colors[i] = Color.parseColor(backgroundColorList.get(i));
+                }
+                this.randomColors = colors;
+            }
+            return this;
+        }
+
+        public Builder setRandomColorList(int[] backgroundColors) {
+            this.randomColorList = null;
+            this.randomColors = backgroundColors == null ? null : backgroundColors.clone();
             return this;
         }
 
+        public Builder setRandomColorList(@NonNull Context context, @ArrayRes int arrayRes) {
+            // Works with both <integer-array> and <array> of color resources.
+            TypedArray typedArray = context.getResources().obtainTypedArray(arrayRes);
+            int[] colors = new int[typedArray.length()];
+            for (int i = 0; i < colors.length; i++) {
+                colors[i] = typedArray.getColor(i, Color.GRAY);
+            }
+            typedArray.recycle();
+            return setRandomColorList(colors);
+        }
+
         public List<String> getRandomColorList() {
             return this.randomColorList;
         }
 
+        public int[] getRandomColors() {
+            return this.randomColors == null ? null : this.randomColors.clone();
+        }
+
         public Builder boldText() {
             typeface = Typeface.create(typeface, Typeface.BOLD);
             return this;
@@ -442,6 +881,7 @@ public class DText extends ShapeDrawable {
 
         public Builder drawAsRectangle() {
             this.shape = new RectShape();
+            this.shapeKind = DTextShape.KIND_RECT;
             return this;
         }
 
@@ -453,6 +893,7 @@ public class DText extends ShapeDrawable {
             this.radius = radius;
             float[] radii = {radius, radius, radius, radius, radius, radius, radius, radius};
             this.shape = new RoundRectShape(radii, null, null);
+            this.shapeKind = DTextShape.KIND_ROUND_RECT;
             return this;
         }
 
@@ -462,6 +903,7 @@ public class DText extends ShapeDrawable {
 
         public Builder drawAsRound() {
             shape = new OvalShape();
+            shapeKind = DTextShape.KIND_OVAL;
             return this;
         }
 
@@ -469,12 +911,92 @@ public class DText extends ShapeDrawable {
             return this.shape instanceof OvalShape;
         }
 
+        // Draw any other shape. Unlike the built-in shapes, it is drawn by ShapeDrawable,
+        // so it is resized on every bounds change.
+        public Builder setShape(@NonNull Shape shape) {
+            this.shape = shape;
+            this.shapeKind = DTextShape.KIND_CUSTOM;
+            return this;
+        }
+
         public Shape getShape() {
             return this.shape;
         }
 
+        int getShapeKind() {
+            return this.shapeKind;
+        }
+
+        public Builder setCache(DTextCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public DTextCache getCache() {
+            return this.cache;
+        }
+
+        public Builder enableAutoFitText(boolean flag) {
+            this.isAutoFitText = flag;
+            return this;
+        }
+
+        // Draw the text with the largest size that fits in the shape, in up to maxLines
+        // lines, between minTextSize and textSize. If it does not fit even with
+        // minTextSize, the last line is ellipsized.
+        public Builder autoFitText() {
+            enableAutoFitText(true);
+            return this;
+        }
+
+        public boolean isAutoFitText() {
+            return this.isAutoFitText;
+        }
+
+        public Builder setMaxLines(int maxLines) {
+            this.maxLines = Math.max(1, maxLines);
+            return this;
+        }
+
+        public int getMaxLines() {
+            return this.maxLines;
+        }
+
+        public Builder setMinTextSize(float minTextSize) {
+            this.minTextSize = minTextSize;
+            return this;
+        }
+
+        public float getMinTextSize() {
+            return this.minTextSize;
+        }
+
+        public Builder enablePictureCache(boolean flag) {
+            this.isPictureCache = flag;
+            return this;
+        }
+
+        // Record shape and text of every text once into a picture, shared by all
+        // the drawables of the same style, and replay it scaled to their bounds.
+        // A round or rectangle shape with the text sized from the bounds is recorded
+        // once for each aspect ratio, anything else once for each size.
+        public Builder pictureCache() {
+            enablePictureCache(true);
+            return this;
+        }
+
+        public boolean isPictureCache() {
+            return this.isPictureCache;
+        }
+
+        // Freeze this builder into an immutable style, that can build any number
+        // of DText instances with different texts.
+        public DTextStyle buildStyle() {
+            return new DTextStyle(this);
+        }
+
         public DText build() {
-            return new DText(this);
+            return DText.create(buildStyle(), text, firstText, lastText, colorKey);
         }
     }
 }
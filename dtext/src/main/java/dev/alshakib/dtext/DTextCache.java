@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+import android.graphics.Typeface;
+import android.graphics.drawable.shapes.Shape;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+// Memory bounded LRU cache of rendered DText bitmaps. A DText that is built with
+// a cache renders every style combination once and draws the bitmap afterwards.
+// A single cache can be shared by all the DText instances of an app.
+public class DTextCache {
+    private final LruCache<Key, Bitmap> lruCache;
+    private volatile DTextDiskCache diskCache;
+
+    public DTextCache(int maxSizeInBytes) {
+        lruCache = new LruCache<Key, Bitmap>(maxSizeInBytes) {
+            @Override
+            protected int sizeOf(@NonNull Key key, @NonNull Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, @NonNull Key key,
+                                        @NonNull Bitmap oldValue, Bitmap newValue) {
+                if (evicted && DTextMetrics.isEnabled()) {
+                    DTextMetrics.get().onCacheEviction(oldValue.getByteCount());
+                }
+            }
+        };
+        // Register last, another thread may call evictStale() as soon as it is registered.
+        DTextUnits.addCache(this);
+    }
+
+    // Rendered bitmaps are written to disk as well, if a disk cache is set. draw() only
+    // looks in memory, bitmaps on disk are read back by DTextPrefetcher and DTextLoader
+    // on their background threads.
+    public void setDiskCache(DTextDiskCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    public DTextDiskCache getDiskCache() {
+        return this.diskCache;
+    }
+
+    // Memory only, so it can be called from draw().
+    Bitmap get(Key key) {
+        return lruCache.get(key);
+    }
+
+    // Looks on disk as well, and keeps a bitmap found there in memory. It reads a file,
+    // so it must not be called on the main thread.
+    Bitmap load(Key key) {
+        Bitmap bitmap = lruCache.get(key);
+        DTextDiskCache diskCache = this.diskCache;
+        if (bitmap == null && diskCache != null) {
+            bitmap = diskCache.get(key);
+            if (bitmap != null) {
+                lruCache.put(key, bitmap);
+            }
+        }
+        return bitmap;
+    }
+
+    void put(Key key, Bitmap bitmap) {
+        lruCache.put(key, bitmap);
+        DTextDiskCache diskCache = this.diskCache;
+        if (diskCache != null) {
+            diskCache.put(key, bitmap);
+        }
+    }
+
+    // Drop the bitmaps of sizes in dp and sp, that were converted with older display
+    // metrics. Bitmaps of sizes in pixels are still valid.
+    void evictStale(int generation) {
+        for (Key key : lruCache.snapshot().keySet()) {
+            if (key.generation >= 0 && key.generation < generation) {
+                lruCache.remove(key);
+            }
+        }
+    }
+
+    // Call it from ComponentCallbacks2.onTrimMemory(int) to release memory.
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            lruCache.trimToSize(lruCache.maxSize() / 2);
+        }
+    }
+
+    // Only evicts the bitmaps in memory, the disk cache has its own limit.
+    public void evictAll() {
+        lruCache.evictAll();
+    }
+
+    public int getSize() {
+        return lruCache.size();
+    }
+
+    public int getMaxSize() {
+        return lruCache.maxSize();
+    }
+
+    public int getHitCount() {
+        return lruCache.hitCount();
+    }
+
+    public int getMissCount() {
+        return lruCache.missCount();
+    }
+
+    public int getEvictionCount() {
+        return lruCache.evictionCount();
+    }
+
+    // Identifies a rendered bitmap by everything that changes its pixels.
+    static final class Key {
+        private final String text;
+        private final int textColor;
+        private final int backgroundColor;
+        private final Class<?> shapeClass;
+        // Template of a custom shape, compared by identity as its fields are not known.
+        // Null for the built-in shapes, which are told apart by class and radius.
+        private final Shape customShape;
+        private final float radius;
+        private final Typeface typeface;
+        private final float textSize;
+        // Fitted text of the same size can still break into other lines.
+        private final boolean isAutoFitText;
+        private final int maxLines;
+        private final float minTextSize;
+        // Fixed size of the text box, or -1 if it follows the bounds.
+        private final float boxWidth;
+        private final float boxHeight;
+        private final int width;
+        private final int height;
+        private final float density;
+        private final int hashCode;
+        // Generation of the display metrics, it does not take part in equality.
+        private final int generation;
+
+        private String fileName;
+
+        Key(String text, int textColor, int backgroundColor, Class<?> shapeClass,
+            Shape customShape, float radius, Typeface typeface, float textSize,
+            boolean isAutoFitText, int maxLines, float minTextSize, float boxWidth,
+            float boxHeight, int width, int height, float density, int generation) {
+            this.text = text;
+            this.textColor = textColor;
+            this.backgroundColor = backgroundColor;
+            this.shapeClass = shapeClass;
+            this.customShape = customShape;
+            this.radius = radius;
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.isAutoFitText = isAutoFitText;
+            this.maxLines = maxLines;
+            this.minTextSize = minTextSize;
+            this.boxWidth = boxWidth;
+            this.boxHeight = boxHeight;
+            this.width = width;
+            this.height = height;
+            this.density = density;
+            this.generation = generation;
+            this.hashCode = Arrays.hashCode(new Object[]{text, textColor, backgroundColor,
+                    shapeClass, System.identityHashCode(customShape), radius, typeface, textSize,
+                    isAutoFitText, maxLines, minTextSize, boxWidth, boxHeight, width, height,
+                    density});
+        }
+
+        // Name of the file of this key in the disk cache, or null if the key can not be
+        // stored on disk. Names are a hash of all the fields and the format version, so
+        // they stay the same across restarts.
+        String getFileName() {
+            if (fileName == null) {
+                int typefaceIndex = getTypefaceIndex(typeface);
+                // A custom shape can not be identified across restarts either.
+                if (typefaceIndex < 0 || customShape != null) {
+                    return null;
+                }
+                String description = DTextDiskCache.FORMAT_VERSION + "|" + text + "|" +
+                        textColor + "|" + backgroundColor + "|" + shapeClass.getName() + "|" +
+                        radius + "|" + typefaceIndex + "|" + typeface.getStyle() + "|" +
+                        textSize + "|" + isAutoFitText + "|" + maxLines + "|" + minTextSize + "|" +
+                        boxWidth + "|" + boxHeight + "|" + width + "|" + height + "|" + density;
+                fileName = sha1(description);
+            }
+            return fileName;
+        }
+
+        // Only the system typefaces can be identified across restarts.
+        private static int getTypefaceIndex(Typeface typeface) {
+            if (typeface == null) {
+                return -1;
+            }
+            Typeface[] families = {Typeface.DEFAULT, Typeface.SANS_SERIF, Typeface.SERIF,
+                    Typeface.MONOSPACE};
+            for (int i = 0; i < families.length; i++) {
+                if (Typeface.create(families[i], typeface.getStyle()).equals(typeface)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static String sha1(String text) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1")
+                        .digest(text.getBytes(StandardCharsets.UTF_8));
+                StringBuilder builder = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                            .append(Character.forDigit(b & 0xF, 16));
+                }
+                return builder.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode
+                    && textColor == key.textColor
+                    && backgroundColor == key.backgroundColor
+                    && Float.compare(key.radius, radius) == 0
+                    && Float.compare(key.textSize, textSize) == 0
+                    && isAutoFitText == key.isAutoFitText
+                    && maxLines == key.maxLines
+                    && Float.compare(key.minTextSize, minTextSize) == 0
+                    && Float.compare(key.boxWidth, boxWidth) == 0
+                    && Float.compare(key.boxHeight, boxHeight) == 0
+                    && width == key.width
+                    && height == key.height
+                    && Float.compare(key.density, density) == 0
+                    && text.equals(key.text)
+                    && shapeClass == key.shapeClass
+                    && customShape == key.customShape
+                    && (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
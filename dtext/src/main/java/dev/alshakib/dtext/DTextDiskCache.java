@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Disk tier of DTextCache, so rendered bitmaps survive an app restart. Bitmaps are
+// stored as raw ARGB pixels under the cache directory of the app, read back with
+// memory mapped I/O, and the least recently used files are deleted when the total
+// size goes over the limit. Files of another format version, or that are corrupt,
+// are ignored and deleted.
+public class DTextDiskCache {
+    private static final String TAG = "DTextDiskCache";
+    private static final String DIRECTORY_NAME = "dtext";
+    private static final String FILE_EXTENSION = ".argb";
+
+    // Bump it whenever the file format or the way bitmaps are rendered changes.
+    static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x44545854; // "DTXT"
+    private static final int HEADER_SIZE = 16;
+
+    private final File directory;
+    private final long maxSizeInBytes;
+    private final ExecutorService writeExecutor;
+
+    private long size = -1;
+
+    public DTextDiskCache(@NonNull Context context, long maxSizeInBytes) {
+        this.directory = new File(context.getCacheDir(), DIRECTORY_NAME);
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    Bitmap get(DTextCache.Key key) {
+        String fileName = key.getFileName();
+        if (fileName == null) {
+            return null;
+        }
+        File file = new File(directory, fileName + FILE_EXTENSION);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (channel.size() < HEADER_SIZE || buffer.getInt() != MAGIC ||
+                    buffer.getInt() != FORMAT_VERSION) {
+                delete(file);
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width <= 0 || height <= 0 ||
+                    channel.size() != HEADER_SIZE + (long) width * height * 4) {
+                delete(file);
+                return null;
+            }
+            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            bitmap.copyPixelsFromBuffer(buffer);
+            // Last modified time is the last access time for the LRU trimming.
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(System.currentTimeMillis());
+            return bitmap;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Unable to read " + file, e);
+            delete(file);
+            return null;
+        }
+    }
+
+    // Writes the bitmap on a background thread. It is called from draw(), so even the
+    // name of the file is hashed on that thread.
+    void put(DTextCache.Key key, Bitmap bitmap) {
+        if (bitmap.getConfig() != Bitmap.Config.ARGB_8888) {
+            return;
+        }
+        writeExecutor.execute(() -> write(key, bitmap));
+    }
+
+    // Waits until the writes queued so far are done.
+    void awaitWrites(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        writeExecutor.submit(() -> { }).get(timeout, unit);
+    }
+
+    private synchronized void write(DTextCache.Key key, Bitmap bitmap) {
+        String fileName = key.getFileName();
+        if (fileName == null || (!directory.isDirectory() && !directory.mkdirs())) {
+            return;
+        }
+        File file = new File(directory, fileName + FILE_EXTENSION);
+        if (file.isFile()) {
+            return;
+        }
+        // Before the new file exists, so a first scan of the directory does not count it.
+        long sizeBefore = getSize();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putInt(bitmap.getWidth());
+        header.putInt(bitmap.getHeight());
+        header.flip();
+        // Pixels get a buffer of their own, so they are copied from its start.
+        ByteBuffer pixels = ByteBuffer.allocate(bitmap.getByteCount());
+        bitmap.copyPixelsToBuffer(pixels);
+        pixels.flip();
+        ByteBuffer[] buffers = {header, pixels};
+
+        // Write to a temporary file first, so a reader never sees a half written file.
+        File temporaryFile = new File(directory, fileName + ".tmp");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(temporaryFile, "rw");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            channel.truncate(0);
+            while (pixels.hasRemaining()) {
+                channel.write(buffers);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Unable to write " + file, e);
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+            return;
+        }
+        if (!temporaryFile.renameTo(file)) {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+            return;
+        }
+        size = sizeBefore + file.length();
+        trimToSize(maxSizeInBytes);
+    }
+
+    public synchronized long getSize() {
+        if (size < 0) {
+            size = 0;
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    size += file.length();
+                }
+            }
+        }
+        return size;
+    }
+
+    public long getMaxSize() {
+        return this.maxSizeInBytes;
+    }
+
+    // Delete the least recently used files until the total size fits in the limit.
+    public synchronized void trimToSize(long maxSize) {
+        if (getSize() <= maxSize) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File first, File second) {
+                return Long.compare(first.lastModified(), second.lastModified());
+            }
+        });
+        for (File file : files) {
+            if (size <= maxSize) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    public void evictAll() {
+        trimToSize(0);
+    }
+
+    private synchronized void delete(File file) {
+        long length = file.length();
+        if (file.delete() && size >= 0) {
+            size -= length;
+        }
+    }
+}
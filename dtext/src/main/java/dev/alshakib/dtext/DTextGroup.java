@@ -0,0 +1,309 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Group avatar that draws the labels of up to four members inside one bounds,
+// like the initials of a group chat. Labels and colors are resolved by the style
+// the same way a DText resolves them. Every cell shares one text paint and one
+// background paint, and the whole group is drawn in a single pass, so a row needs
+// one view instead of one per member.
+public class DTextGroup extends Drawable {
+    // Side by side columns, clipped to the shape of the style.
+    public static final int LAYOUT_SPLIT = 0;
+    // A whole cell, two halves, a half and two quarters, or four quarters, clipped
+    // to the shape of the style.
+    public static final int LAYOUT_QUADRANT = 1;
+    // Overlapping circles in a row, each one above the one before.
+    public static final int LAYOUT_STACKED = 2;
+
+    private static final int MAX_LABELS = 4;
+    // Part of a stacked circle that the next one covers
+    private static final float STACK_OVERLAP = 0.35f;
+    // Width of the border around stacked circles, as a part of their diameter
+    private static final float STACK_BORDER = 0.06f;
+
+    private final DTextStyle style;
+    private final String[] labels;
+    private final int[] backgroundColors;
+    private final int layout;
+    private final Paint textPaint;
+    private final Paint backgroundPaint;
+    private int borderColor = Color.WHITE;
+    private int alpha = 255;
+
+    private DTextStyle.Sizes sizes;
+
+    // Geometry of each cell, resolved on bounds changes
+    private final RectF[] cells;
+    private final TextLayout[] textLayouts;
+    private final RectF shapeBounds = new RectF();
+    private final Rect outlineBounds = new Rect();
+    private Path clipPath;
+    private float borderWidth;
+
+    public DTextGroup(@NonNull DTextStyle style, @NonNull List<? extends CharSequence> texts,
+                      int layout) {
+        if (layout != LAYOUT_SPLIT && layout != LAYOUT_QUADRANT && layout != LAYOUT_STACKED) {
+            throw new IllegalArgumentException("Unknown layout " + layout);
+        }
+        this.style = style;
+        this.layout = layout;
+        int count = Math.max(1, Math.min(texts.size(), MAX_LABELS));
+        this.labels = new String[count];
+        this.backgroundColors = new int[count];
+        for (int i = 0; i < count; i++) {
+            // No member at all is drawn like a DText of an empty text.
+            CharSequence text = i < texts.size() ? texts.get(i) : "";
+            labels[i] = style.getValidText(text, null, null);
+            backgroundColors[i] = style.getValidBackgroundColor(text, null);
+        }
+        this.textPaint = style.newTextPaint();
+        this.backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        this.sizes = style.getSizes();
+        this.cells = new RectF[count];
+        this.textLayouts = new TextLayout[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = new RectF();
+            textLayouts[i] = new TextLayout();
+        }
+    }
+
+    public DTextStyle getStyle() {
+        return this.style;
+    }
+
+    // The resolved labels, that are drawn on the canvas.
+    public List<String> getLabels() {
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    public int getLayout() {
+        return this.layout;
+    }
+
+    // Color of the ring that separates stacked circles, transparent for none.
+    public void setBorderColor(int borderColor) {
+        this.borderColor = borderColor;
+        invalidateSelf();
+    }
+
+    public int getBorderColor() {
+        return this.borderColor;
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        updateLayout(bounds);
+    }
+
+    // Cells, text sizes and positions only change with bounds, so resolve them here
+    // instead of in every draw() call.
+    private void updateLayout(Rect bounds) {
+        float width = sizes.width < 0 ? bounds.width() : sizes.width;
+        float height = sizes.height < 0 ? bounds.height() : sizes.height;
+        shapeBounds.set(bounds.left, bounds.top, bounds.left + width, bounds.top + height);
+        int count = labels.length;
+        if (layout == LAYOUT_STACKED) {
+            float diameter = Math.min(height, width / (1 + (count - 1) * (1 - STACK_OVERLAP)));
+            float step = diameter * (1 - STACK_OVERLAP);
+            float left = shapeBounds.left + (width - diameter - (count - 1) * step) / 2;
+            float top = shapeBounds.top + (height - diameter) / 2;
+            for (int i = 0; i < count; i++) {
+                cells[i].set(left + i * step, top, left + i * step + diameter, top + diameter);
+            }
+            borderWidth = diameter * STACK_BORDER;
+            clipPath = null;
+        } else {
+            if (layout == LAYOUT_SPLIT || count < 3) {
+                float columnWidth = width / count;
+                for (int i = 0; i < count; i++) {
+                    cells[i].set(shapeBounds.left + i * columnWidth, shapeBounds.top,
+                            shapeBounds.left + (i + 1) * columnWidth, shapeBounds.bottom);
+                }
+            } else {
+                // The first member gets the left half, the others share the right half.
+                float centerX = shapeBounds.centerX();
+                float centerY = shapeBounds.centerY();
+                if (count == 3) {
+                    cells[0].set(shapeBounds.left, shapeBounds.top, centerX, shapeBounds.bottom);
+                } else {
+                    cells[0].set(shapeBounds.left, shapeBounds.top, centerX, centerY);
+                    cells[3].set(shapeBounds.left, centerY, centerX, shapeBounds.bottom);
+                }
+                cells[1].set(centerX, shapeBounds.top, shapeBounds.right, centerY);
+                cells[2].set(centerX, centerY, shapeBounds.right, shapeBounds.bottom);
+            }
+            DTextShape builtInShape = style.getBuiltInShape();
+            clipPath = builtInShape != null ? builtInShape.newClipPath(shapeBounds) : null;
+        }
+
+        // Stacked cells are circles, the others are parts of a rectangle.
+        float inset = layout == LAYOUT_STACKED ?
+                TextLayout.OVAL_TEXT_INSET : TextLayout.TEXT_INSET;
+        for (int i = 0; i < count; i++) {
+            RectF cell = cells[i];
+            // Same default as a DText, but never larger than the cell allows.
+            float maxTextSize = Math.min(cell.width(), cell.height()) / 2;
+            if (layout == LAYOUT_STACKED) {
+                maxTextSize -= borderWidth;
+            }
+            float textSize = sizes.textSize < 0 ?
+                    maxTextSize : Math.min(sizes.textSize, maxTextSize);
+            textLayouts[i].update(style, sizes, labels[i], textPaint.getTypeface(), cell,
+                    textSize, inset);
+        }
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        DTextStyle.Sizes currentSizes = style.getSizes();
+        if (currentSizes != sizes) {
+            sizes = currentSizes;
+            updateLayout(getBounds());
+        }
+        if (DTextMetrics.isEnabled()) {
+            long start = System.nanoTime();
+            drawCells(canvas);
+            DTextMetrics.get().onDraw(System.nanoTime() - start);
+        } else {
+            drawCells(canvas);
+        }
+    }
+
+    private void drawCells(Canvas canvas) {
+        if (layout == LAYOUT_STACKED) {
+            for (int i = 0; i < labels.length; i++) {
+                RectF cell = cells[i];
+                float radius = cell.width() / 2;
+                if (Color.alpha(borderColor) != 0) {
+                    backgroundPaint.setColor(borderColor);
+                    backgroundPaint.setAlpha(modulateAlpha(Color.alpha(borderColor)));
+                    canvas.drawCircle(cell.centerX(), cell.centerY(), radius, backgroundPaint);
+                }
+                backgroundPaint.setColor(backgroundColors[i]);
+                backgroundPaint.setAlpha(modulateAlpha(Color.alpha(backgroundColors[i])));
+                canvas.drawCircle(cell.centerX(), cell.centerY(), radius - borderWidth,
+                        backgroundPaint);
+                drawLabel(canvas, i);
+            }
+            return;
+        }
+
+        int savedCanvasCount = canvas.save();
+        if (clipPath != null) {
+            canvas.clipPath(clipPath);
+        } else {
+            canvas.clipRect(shapeBounds);
+        }
+        for (int i = 0; i < labels.length; i++) {
+            backgroundPaint.setColor(backgroundColors[i]);
+            backgroundPaint.setAlpha(modulateAlpha(Color.alpha(backgroundColors[i])));
+            canvas.drawRect(cells[i], backgroundPaint);
+            drawLabel(canvas, i);
+        }
+        canvas.restoreToCount(savedCanvasCount);
+    }
+
+    private void drawLabel(Canvas canvas, int index) {
+        TextLayout textLayout = textLayouts[index];
+        textPaint.setTextSize(textLayout.textSize);
+        textLayout.draw(canvas, labels[index], textPaint);
+    }
+
+    private int modulateAlpha(int colorAlpha) {
+        return colorAlpha * alpha / 255;
+    }
+
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        DTextShape builtInShape = style.getBuiltInShape();
+        if (layout != LAYOUT_STACKED && builtInShape != null) {
+            shapeBounds.roundOut(outlineBounds);
+            builtInShape.getOutline(outlineBounds, outline);
+        } else {
+            super.getOutline(outline);
+        }
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        this.alpha = alpha;
+        textPaint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return this.alpha;
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        textPaint.setColorFilter(colorFilter);
+        backgroundPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public ColorFilter getColorFilter() {
+        return textPaint.getColorFilter();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return (int) style.getSizes().width;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return (int) style.getSizes().height;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.widget.ImageView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Loads DText instances into image views. The same style and text is built only
+// once: requests for a key that is already in flight wait for that build, and
+// loaded states are kept in an LRU cache of their style, so they are shown without
+// a build at all, and are released with the style once its screen is gone. A view
+// that is bound to another key stops waiting for the old one, and a build nobody
+// waits for anymore is cancelled.
+// Everything but the build itself runs on the main thread, so no locking is needed.
+final class DTextLoader {
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+    private static final Map<Key, InFlight> inFlight = new HashMap<>();
+
+    private static ExecutorService executor;
+
+    private DTextLoader() {
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, "DTextLoader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    static void load(DTextStyle style, String text, ImageView imageView) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException(
+                    "DText.load().into() must be called on the main thread");
+        }
+        Key key = new Key(style, text);
+        Object previous = imageView.getTag(R.id.dtext_request);
+        if (key.equals(previous)) {
+            // Already shown, or already waiting for this key.
+            return;
+        }
+        if (previous instanceof Key) {
+            detach((Key) previous, imageView);
+        }
+
+        Drawable.ConstantState constantState = key.getLoaded();
+        if (constantState != null) {
+            // Already loaded, so only the prepared state is copied.
+            imageView.setTag(R.id.dtext_request, key);
+            imageView.setImageDrawable(constantState.newDrawable());
+            return;
+        }
+
+        imageView.setTag(R.id.dtext_request, key);
+        imageView.setImageDrawable(null);
+        InFlight request = inFlight.get(key);
+        if (request == null) {
+            request = new InFlight(key);
+            inFlight.put(key, request);
+            request.future = getExecutor().submit(request);
+        }
+        request.imageViews.add(imageView);
+    }
+
+    // Stops the view from waiting for the key, and cancels the build if it was the last one.
+    private static void detach(Key key, ImageView imageView) {
+        InFlight request = inFlight.get(key);
+        if (request == null) {
+            return;
+        }
+        request.imageViews.remove(imageView);
+        if (request.imageViews.isEmpty()) {
+            inFlight.remove(key);
+            request.future.cancel(false);
+        }
+    }
+
+    private static void deliver(InFlight request, Drawable.ConstantState constantState) {
+        if (inFlight.get(request.key) != request) {
+            // Cancelled after the build has finished.
+            return;
+        }
+        inFlight.remove(request.key);
+        request.key.putLoaded(constantState);
+        for (ImageView imageView : request.imageViews) {
+            // The view could have been rebound while the request was in flight, but then
+            // it is removed from the list, so this only guards against a stale tag.
+            if (request.key.equals(imageView.getTag(R.id.dtext_request))) {
+                imageView.setImageDrawable(constantState.newDrawable());
+            }
+        }
+    }
+
+    private static final class InFlight implements Runnable {
+        private final Key key;
+        private final List<ImageView> imageViews = new ArrayList<>(1);
+        private Future<?> future;
+
+        InFlight(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            DTextStyle style = key.style;
+            DText dText = style.newDrawable(key.text);
+            DTextStyle.Sizes sizes = style.getSizes();
+            if (style.getCache() != null && sizes.width > 0 && sizes.height > 0) {
+                // Image views give the drawable its intrinsic size, render it in advance.
+                dText.setBounds(0, 0, (int) sizes.width, (int) sizes.height);
+                dText.prerender();
+            }
+            final Drawable.ConstantState constantState = dText.getConstantState();
+            handler.post(() -> deliver(this, constantState));
+        }
+    }
+
+    private static final class Key {
+        private final DTextStyle style;
+        private final String text;
+
+        Key(DTextStyle style, String text) {
+            this.style = style;
+            this.text = text;
+        }
+
+        // The LRU cache of the style has no null keys, and a null text is drawn as an empty one.
+        Drawable.ConstantState getLoaded() {
+            return style.getLoadedStates().get(text != null ? text : "");
+        }
+
+        void putLoaded(Drawable.ConstantState constantState) {
+            style.getLoadedStates().put(text != null ? text : "", constantState);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return style == key.style &&
+                    (text == null ? key.text == null : text.equals(key.text));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(style) + (text != null ? text.hashCode() : 0);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Receives counts and timings from the library. Nothing is measured until a
+// listener is installed with DTextMetrics.install(), so when it is off the only
+// cost is a read of a static field. Listeners are called from the threads that
+// build and draw, including the render thread, so they must be fast and thread safe.
+public abstract class DTextMetrics {
+    public static final DTextMetrics NONE = new DTextMetrics() {
+    };
+
+    private static volatile DTextMetrics metrics = NONE;
+    private static volatile boolean isEnabled;
+
+    public static void install(DTextMetrics dTextMetrics) {
+        metrics = dTextMetrics == null ? NONE : dTextMetrics;
+        isEnabled = metrics != NONE;
+    }
+
+    public static DTextMetrics get() {
+        return metrics;
+    }
+
+    static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    // Called after a DText is built
+    public void onBuild(long durationNanos) {
+    }
+
+    // Called after a DText is drawn
+    public void onDraw(long durationNanos) {
+    }
+
+    public void onCacheHit() {
+    }
+
+    public void onCacheMiss() {
+    }
+
+    public void onCacheEviction(int sizeInBytes) {
+    }
+
+    // Aggregates everything it receives with atomic counters, without any lock.
+    public static class Aggregator extends DTextMetrics {
+        private final AtomicLong buildCount = new AtomicLong();
+        private final AtomicLong buildNanos = new AtomicLong();
+        private final AtomicLong maxBuildNanos = new AtomicLong();
+        private final AtomicLong drawCount = new AtomicLong();
+        private final AtomicLong drawNanos = new AtomicLong();
+        private final AtomicLong maxDrawNanos = new AtomicLong();
+        private final AtomicLong cacheHitCount = new AtomicLong();
+        private final AtomicLong cacheMissCount = new AtomicLong();
+        private final AtomicLong cacheEvictionCount = new AtomicLong();
+        private final AtomicLong cacheEvictionBytes = new AtomicLong();
+
+        @Override
+        public void onBuild(long durationNanos) {
+            buildCount.incrementAndGet();
+            buildNanos.addAndGet(durationNanos);
+            updateMax(maxBuildNanos, durationNanos);
+        }
+
+        @Override
+        public void onDraw(long durationNanos) {
+            drawCount.incrementAndGet();
+            drawNanos.addAndGet(durationNanos);
+            updateMax(maxDrawNanos, durationNanos);
+        }
+
+        @Override
+        public void onCacheHit() {
+            cacheHitCount.incrementAndGet();
+        }
+
+        @Override
+        public void onCacheMiss() {
+            cacheMissCount.incrementAndGet();
+        }
+
+        @Override
+        public void onCacheEviction(int sizeInBytes) {
+            cacheEvictionCount.incrementAndGet();
+            cacheEvictionBytes.addAndGet(sizeInBytes);
+        }
+
+        private static void updateMax(AtomicLong max, long value) {
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+
+        // Counters are read one by one, so a snapshot taken while the library is
+        // busy can be off by the events that happened in between.
+        public Snapshot snapshot() {
+            return new Snapshot(buildCount.get(), buildNanos.get(), maxBuildNanos.get(),
+                    drawCount.get(), drawNanos.get(), maxDrawNanos.get(),
+                    cacheHitCount.get(), cacheMissCount.get(),
+                    cacheEvictionCount.get(), cacheEvictionBytes.get());
+        }
+
+        public void reset() {
+            buildCount.set(0);
+            buildNanos.set(0);
+            maxBuildNanos.set(0);
+            drawCount.set(0);
+            drawNanos.set(0);
+            maxDrawNanos.set(0);
+            cacheHitCount.set(0);
+            cacheMissCount.set(0);
+            cacheEvictionCount.set(0);
+            cacheEvictionBytes.set(0);
+        }
+    }
+
+    public static final class Snapshot {
+        private final long buildCount;
+        private final long buildNanos;
+        private final long maxBuildNanos;
+        private final long drawCount;
+        private final long drawNanos;
+        private final long maxDrawNanos;
+        private final long cacheHitCount;
+        private final long cacheMissCount;
+        private final long cacheEvictionCount;
+        private final long cacheEvictionBytes;
+
+        Snapshot(long buildCount, long buildNanos, long maxBuildNanos,
+                 long drawCount, long drawNanos, long maxDrawNanos,
+                 long cacheHitCount, long cacheMissCount,
+                 long cacheEvictionCount, long cacheEvictionBytes) {
+            this.buildCount = buildCount;
+            this.buildNanos = buildNanos;
+            this.maxBuildNanos = maxBuildNanos;
+            this.drawCount = drawCount;
+            this.drawNanos = drawNanos;
+            this.maxDrawNanos = maxDrawNanos;
+            this.cacheHitCount = cacheHitCount;
+            this.cacheMissCount = cacheMissCount;
+            this.cacheEvictionCount = cacheEvictionCount;
+            this.cacheEvictionBytes = cacheEvictionBytes;
+        }
+
+        public long getBuildCount() {
+            return this.buildCount;
+        }
+
+        public long getBuildNanos() {
+            return this.buildNanos;
+        }
+
+        public long getMaxBuildNanos() {
+            return this.maxBuildNanos;
+        }
+
+        public long getDrawCount() {
+            return this.drawCount;
+        }
+
+        public long getDrawNanos() {
+            return this.drawNanos;
+        }
+
+        public long getMaxDrawNanos() {
+            return this.maxDrawNanos;
+        }
+
+        public long getCacheHitCount() {
+            return this.cacheHitCount;
+        }
+
+        public long getCacheMissCount() {
+            return this.cacheMissCount;
+        }
+
+        public long getCacheEvictionCount() {
+            return this.cacheEvictionCount;
+        }
+
+        public long getCacheEvictionBytes() {
+            return this.cacheEvictionBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "DTextMetrics.Snapshot{" +
+                    "buildCount=" + buildCount +
+                    ", buildNanos=" + buildNanos +
+                    ", maxBuildNanos=" + maxBuildNanos +
+                    ", drawCount=" + drawCount +
+                    ", drawNanos=" + drawNanos +
+                    ", maxDrawNanos=" + maxDrawNanos +
+                    ", cacheHitCount=" + cacheHitCount +
+                    ", cacheMissCount=" + cacheMissCount +
+                    ", cacheEvictionCount=" + cacheEvictionCount +
+                    ", cacheEvictionBytes=" + cacheEvictionBytes +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.PorterDuff;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+// Pool of DText instances for screens that show many short lived drawables, like
+// search results. Instances are kept by style, and acquire() rebinds a released
+// instance to the new text instead of building a new one.
+public class DTextPool {
+    private final int maxSizePerStyle;
+    private final Map<DTextStyle, ArrayDeque<DText>> pool = new HashMap<>();
+
+    private long hitCount;
+    private long missCount;
+
+    public DTextPool(int maxSizePerStyle) {
+        this.maxSizePerStyle = maxSizePerStyle;
+    }
+
+    public synchronized DText acquire(DTextStyle style, String text) {
+        ArrayDeque<DText> dTexts = pool.get(style);
+        DText dText = dTexts == null ? null : dTexts.pollLast();
+        if (dText == null) {
+            missCount++;
+            return style.newDrawable(text);
+        }
+        hitCount++;
+        dText.setText(text);
+        return dText;
+    }
+
+    // The drawable must not be used anymore after it is released.
+    public synchronized void release(DText dText) {
+        ArrayDeque<DText> dTexts = pool.get(dText.getStyle());
+        if (dTexts == null) {
+            dTexts = new ArrayDeque<>();
+            pool.put(dText.getStyle(), dTexts);
+        }
+        if (dTexts.size() >= maxSizePerStyle || dTexts.contains(dText)) {
+            return;
+        }
+        reset(dText);
+        dTexts.addLast(dText);
+    }
+
+    // Detach the drawable from its view and undo what a view may have changed.
+    private static void reset(DText dText) {
+        dText.setCallback(null);
+        dText.setBounds(0, 0, 0, 0);
+        dText.setVisible(true, false);
+        if (dText.getAlpha() != 255 || dText.getColorFilter() != null) {
+            dText.setAlpha(255);
+            dText.setColorFilter(null);
+        }
+        // Removing the tint also brings a built-in shape back to being drawn directly.
+        dText.setTintList(null);
+        dText.setTintMode(PorterDuff.Mode.SRC_IN);
+    }
+
+    public synchronized void clear() {
+        pool.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    public synchronized float getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (float) hitCount / requestCount;
+    }
+}
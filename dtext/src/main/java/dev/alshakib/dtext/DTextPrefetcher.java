@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.drawable.Drawable;
+import android.os.Process;
+import android.util.LruCache;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Prepares DText instances of upcoming texts on a background thread, so binding
+// them on the UI thread only has to copy the prepared state. If the style has a
+// cache and a raster size is set, the bitmaps are rendered in advance as well.
+public class DTextPrefetcher {
+    private static final int DEFAULT_MAX_OUTSTANDING = 64;
+    private static final int DEFAULT_MAX_PREPARED = 256;
+
+    private final DTextStyle style;
+    private final int rasterWidth;
+    private final int rasterHeight;
+    private final LruCache<String, Drawable.ConstantState> prepared;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public DTextPrefetcher(DTextStyle style) {
+        this(style, 0, 0);
+    }
+
+    // Raster width and height are in pixels, and are only used if the style has a cache.
+    public DTextPrefetcher(DTextStyle style, int rasterWidth, int rasterHeight) {
+        this(style, rasterWidth, rasterHeight, DEFAULT_MAX_OUTSTANDING, DEFAULT_MAX_PREPARED);
+    }
+
+    public DTextPrefetcher(DTextStyle style, int rasterWidth, int rasterHeight,
+                           int maxOutstanding, int maxPrepared) {
+        this.style = style;
+        this.rasterWidth = rasterWidth;
+        this.rasterHeight = rasterHeight;
+        this.prepared = new LruCache<>(maxPrepared);
+        // A single background thread with a bounded queue. When the queue is full the
+        // oldest request is dropped, as it is the least likely to be shown next.
+        this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(maxOutstanding),
+                runnable -> new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, "DTextPrefetcher"),
+                new ThreadPoolExecutor.DiscardOldestPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void prefetch(List<String> texts) {
+        for (String text : texts) {
+            prefetch(text);
+        }
+    }
+
+    public void prefetch(String text) {
+        if (text == null || prepared.get(text) != null) {
+            return;
+        }
+        final int requestGeneration = generation.get();
+        executor.execute(() -> {
+            // Skip the requests made before the last cancel().
+            if (requestGeneration == generation.get() && prepared.get(text) == null) {
+                prepared.put(text, prepare(text));
+            }
+        });
+    }
+
+    private Drawable.ConstantState prepare(String text) {
+        DText dText = style.newDrawable(text);
+        if (style.getCache() != null && rasterWidth > 0 && rasterHeight > 0) {
+            dText.setBounds(0, 0, rasterWidth, rasterHeight);
+            dText.prerender();
+        }
+        return dText.getConstantState();
+    }
+
+    // Waits until the requests made so far are prepared or skipped.
+    void awaitPrefetches(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        executor.submit(() -> { }).get(timeout, unit);
+    }
+
+    // Returns a DText from the prepared state if there is one, otherwise it is built now.
+    public DText obtain(String text) {
+        Drawable.ConstantState constantState = prepared.get(text);
+        if (constantState != null) {
+            return (DText) constantState.newDrawable();
+        }
+        return style.newDrawable(text);
+    }
+
+    // Rebinds an existing DText of the same style to the text, from the prepared state
+    // if there is one.
+    public void bind(DText dText, String text) {
+        Drawable.ConstantState constantState = prepared.get(text);
+        if (constantState instanceof DText.DTextState) {
+            DText.DTextState preparedState = (DText.DTextState) constantState;
+            dText.rebind(preparedState.text, preparedState.backgroundColor);
+        } else {
+            dText.setText(text);
+        }
+    }
+
+    // Drops all the outstanding requests, for example when a new list is submitted.
+    public void cancel() {
+        generation.incrementAndGet();
+        executor.getQueue().clear();
+    }
+
+    public void clear() {
+        cancel();
+        prepared.evictAll();
+    }
+
+    public void shutdown() {
+        clear();
+        executor.shutdownNow();
+    }
+}
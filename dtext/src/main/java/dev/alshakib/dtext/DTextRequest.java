@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+// A request to show the DText of a text in an ImageView, created by DText.load().
+public final class DTextRequest {
+    private final DTextStyle style;
+    private final String text;
+
+    DTextRequest(@NonNull DTextStyle style, String text) {
+        this.style = style;
+        this.text = text;
+    }
+
+    // Shows the DText in the view, right away if it is already loaded, otherwise as
+    // soon as it is built in the background. Must be called on the main thread.
+    public void into(@NonNull ImageView imageView) {
+        DTextLoader.load(style, text, imageView);
+    }
+
+    public DTextStyle getStyle() {
+        return this.style;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+}
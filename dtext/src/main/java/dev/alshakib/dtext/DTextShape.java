@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+// Geometry of the shapes of drawAsRound(), drawAsRectangle() and drawAsRectangle(radius).
+// They are drawn with a single Canvas call, without resizing a Shape or building
+// a Path, and their outline needs no Path either. Custom shapes are drawn by
+// ShapeDrawable instead.
+final class DTextShape {
+    static final int KIND_CUSTOM = 0;
+    static final int KIND_RECT = 1;
+    static final int KIND_ROUND_RECT = 2;
+    static final int KIND_OVAL = 3;
+
+    private final int kind;
+    private final float radius;
+
+    DTextShape(int kind, float radius) {
+        this.kind = kind;
+        this.radius = radius;
+    }
+
+    int getKind() {
+        return this.kind;
+    }
+
+    void draw(Canvas canvas, RectF bounds, Paint paint) {
+        switch (kind) {
+            case KIND_OVAL:
+                if (bounds.width() == bounds.height()) {
+                    canvas.drawCircle(bounds.centerX(), bounds.centerY(), bounds.width() / 2,
+                            paint);
+                } else {
+                    canvas.drawOval(bounds, paint);
+                }
+                break;
+            case KIND_ROUND_RECT:
+                canvas.drawRoundRect(bounds, radius, radius, paint);
+                break;
+            default:
+                canvas.drawRect(bounds, paint);
+                break;
+        }
+    }
+
+    // Returns the clip of the shape, or null if clipping to the bounds is enough.
+    Path newClipPath(RectF bounds) {
+        Path path;
+        switch (kind) {
+            case KIND_OVAL:
+                path = new Path();
+                path.addOval(bounds, Path.Direction.CW);
+                return path;
+            case KIND_ROUND_RECT:
+                path = new Path();
+                path.addRoundRect(bounds, radius, radius, Path.Direction.CW);
+                return path;
+            default:
+                return null;
+        }
+    }
+
+    void getOutline(Rect bounds, Outline outline) {
+        switch (kind) {
+            case KIND_OVAL:
+                outline.setOval(bounds);
+                break;
+            case KIND_ROUND_RECT:
+                outline.setRoundRect(bounds, radius);
+                break;
+            default:
+                outline.setRect(bounds);
+                break;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.shapes.Shape;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.nio.CharBuffer;
+import java.util.List;
+
+// Immutable snapshot of a DText.Builder without its text. A style is thread safe
+// and can be shared by any number of DText instances, on any thread: all fields
+// are final and never mutated, the shape and the text paint are private copies,
+// and the converted sizes are published through a volatile field. It resolves
+// sizes, shape, typeface and text paint once, so building a DText from a style
+// only allocates the state of that instance. Sizes in dp and sp are converted
+// again only when the density or the font scale changes. The states loaded by
+// DText.load() are the only exception, they are created and used on the main thread.
+public final class DTextStyle {
+    private static final int PICTURE_CACHE_SIZE = 256;
+    private static final int LOADED_STATES_SIZE = 256;
+
+    private final Shape shape;
+    private final DTextShape builtInShape;
+    private final float radius;
+    private final Typeface typeface;
+    private final int textColor;
+    private final int backgroundColor;
+    private final boolean isSpAndDp;
+    private final float width;
+    private final float height;
+    private final float textSize;
+    private final float minTextSize;
+    private final LabelResolver labelResolver;
+    private final boolean isRandomBackgroundColor;
+    private final boolean isHashBackgroundColor;
+    private final int[] randomColors;
+    private final boolean isAutoFitText;
+    private final int maxLines;
+    private final DTextCache cache;
+    private final LruCache<PictureKey, Picture> pictureCache;
+    private final boolean isPictureScalable;
+    private final Paint textPaint;
+
+    private volatile Sizes sizes;
+    // Kept by the style, so they are released together with it.
+    private LruCache<String, Drawable.ConstantState> loadedStates;
+
+    DTextStyle(DText.Builder builder) {
+        Context context = builder.getContext();
+        // Take a private copy, so later changes of the builder or of the shape
+        // given to it can not race with drawables cloning the template.
+        shape = cloneShape(builder.getShape());
+        radius = builder.getRadius();
+        builtInShape = builder.getShapeKind() != DTextShape.KIND_CUSTOM ?
+                new DTextShape(builder.getShapeKind(), radius) : null;
+        typeface = builder.getTypeface();
+        textColor = builder.getTextColor();
+        backgroundColor = builder.getBackgroundColor();
+        labelResolver = new LabelResolver(builder.isToUpperCase(), builder.isFirstCharOnly(),
+                builder.isDigitOnly(), builder.isAlphaNumOnly(), builder.isInitials(),
+                builder.getInitialsRules());
+        isRandomBackgroundColor = builder.isRandomBackgroundColor();
+        isHashBackgroundColor = builder.isHashBackgroundColor();
+        randomColors = builder.getRandomColors();
+        isAutoFitText = builder.isAutoFitText();
+        maxLines = builder.getMaxLines();
+        cache = builder.getCache();
+        pictureCache = builder.isPictureCache() ? new LruCache<>(PICTURE_CACHE_SIZE) : null;
+
+        // If context is found, do not use pixel.
+        // Use sp and dp as unit of measurement.
+        isSpAndDp = context != null;
+        height = builder.getHeight();
+        width = builder.getWidth();
+        textSize = builder.getTextSize();
+        minTextSize = builder.getMinTextSize();
+        // Only an oval or a rectangle with its text sized from the bounds scales exactly.
+        // A fixed size, a corner radius or fitted text has to be laid out again instead.
+        isPictureScalable = builtInShape != null &&
+                builtInShape.getKind() != DTextShape.KIND_ROUND_RECT && !isAutoFitText &&
+                width < 0 && height < 0 && textSize < 0;
+        if (isSpAndDp) {
+            DTextUnits.register(context);
+        }
+        sizes = new Sizes(this, DTextUnits.get());
+
+        // Template of the text paint, every DText gets its own copy of it.
+        textPaint = new Paint();
+        textPaint.setAntiAlias(true);
+        textPaint.setStyle(Paint.Style.FILL);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textPaint.setColor(textColor);
+        textPaint.setTypeface(typeface);
+    }
+
+    // Returns the sizes in pixels. If they are in dp and sp, they are converted again
+    // after the density or the font scale changes.
+    Sizes getSizes() {
+        Sizes sizes = this.sizes;
+        if (!isSpAndDp) {
+            return sizes;
+        }
+        DTextUnits.Snapshot units = DTextUnits.get();
+        if (units != null && units.generation != sizes.generation) {
+            sizes = new Sizes(this, units);
+            this.sizes = sizes;
+            if (pictureCache != null) {
+                // Pictures are recorded with the old text size.
+                pictureCache.evictAll();
+            }
+        }
+        return sizes;
+    }
+
+    public DText newDrawable(String text) {
+        return newDrawable((CharSequence) text);
+    }
+
+    public DText newDrawable(CharSequence text) {
+        return DText.create(this, text, null, null, null);
+    }
+
+    // The chars are read right away, so the array can be reused afterwards.
+    public DText newDrawable(char[] chars, int offset, int length) {
+        return newDrawable(CharBuffer.wrap(chars, offset, length));
+    }
+
+    public DText newDrawable(String first, String last) {
+        return newDrawable(first, last, "");
+    }
+
+    public DText newDrawable(String first, String last, String separator) {
+        return newDrawable((CharSequence) first, last, separator);
+    }
+
+    // First and last are only joined if the whole text is drawn.
+    public DText newDrawable(CharSequence first, CharSequence last, CharSequence separator) {
+        return DText.create(this, new JoinedText(first, separator, last), first, last, null);
+    }
+
+    // Draws the labels of up to four texts in one drawable, with one of the
+    // DTextGroup layouts.
+    public DTextGroup newGroupDrawable(@NonNull List<? extends CharSequence> texts, int layout) {
+        return new DTextGroup(this, texts, layout);
+    }
+
+    // Shapes are resized by the drawable they belong to, so every DText needs its own.
+    Shape newShape() {
+        return cloneShape(shape);
+    }
+
+    private static Shape cloneShape(Shape shape) {
+        try {
+            return shape.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Shape " + shape.getClass().getName() +
+                    " can not be cloned", e);
+        }
+    }
+
+    Paint newTextPaint() {
+        return new Paint(textPaint);
+    }
+
+    String getValidText(CharSequence text, CharSequence firstText, CharSequence lastText) {
+        return labelResolver.getValidText(text, firstText, lastText);
+    }
+
+    int getValidBackgroundColor(CharSequence text, String colorKey) {
+        if (isHashBackgroundColor) {
+            // Pick a color from the hash of the color key, or of the text if no key is set.
+            // The same text always gets the same color.
+            return ColorPicker.pickByKey(colorKey != null ? colorKey : text, randomColors);
+        }
+        if (isRandomBackgroundColor) {
+            return ColorPicker.pickRandom(randomColors);
+        }
+        return backgroundColor;
+    }
+
+    // The geometry of a built-in shape, or null if the shape is a custom one.
+    DTextShape getBuiltInShape() {
+        return this.builtInShape;
+    }
+
+    Class<? extends Shape> getShapeClass() {
+        return shape.getClass();
+    }
+
+    // The template itself, so it identifies the custom shape of this style. Null if the
+    // shape is a built-in one.
+    Shape getCustomShapeTemplate() {
+        return builtInShape == null ? shape : null;
+    }
+
+    // Returns a copy, the template itself is never handed out.
+    public Shape getShape() {
+        return newShape();
+    }
+
+    public float getRadius() {
+        return this.radius;
+    }
+
+    public Typeface getTypeface() {
+        return this.typeface;
+    }
+
+    public int getTextColor() {
+        return this.textColor;
+    }
+
+    // Width in pixels, or a negative value to use the width of bounds.
+    public float getWidth() {
+        return getSizes().width;
+    }
+
+    // Height in pixels, or a negative value to use the height of bounds.
+    public float getHeight() {
+        return getSizes().height;
+    }
+
+    // Text size in pixels, or a negative value to size the text from bounds.
+    public float getTextSize() {
+        return getSizes().textSize;
+    }
+
+    public boolean isAutoFitText() {
+        return this.isAutoFitText;
+    }
+
+    public int getMaxLines() {
+        return this.maxLines;
+    }
+
+    // Minimum text size of auto fitted text in pixels, or a negative value for the default.
+    public float getMinTextSize() {
+        return getSizes().minTextSize;
+    }
+
+    public float getDensity() {
+        return getSizes().density;
+    }
+
+    public boolean isHashBackgroundColor() {
+        return this.isHashBackgroundColor;
+    }
+
+    public boolean isSpAndDp() {
+        return this.isSpAndDp;
+    }
+
+    public DTextCache getCache() {
+        return this.cache;
+    }
+
+    public boolean isPictureCache() {
+        return this.pictureCache != null;
+    }
+
+    // Only called on the main thread by DTextLoader.
+    LruCache<String, Drawable.ConstantState> getLoadedStates() {
+        if (loadedStates == null) {
+            loadedStates = new LruCache<>(LOADED_STATES_SIZE);
+        }
+        return loadedStates;
+    }
+
+    // A picture that scales exactly is shared by all the bounds of the same aspect ratio,
+    // any other picture only by bounds of the same size.
+    PictureKey newPictureKey(String text, int backgroundColor, int width, int height) {
+        if (isPictureScalable) {
+            int divisor = greatestCommonDivisor(width, height);
+            width /= divisor;
+            height /= divisor;
+        }
+        return new PictureKey(text, backgroundColor, width, height);
+    }
+
+    private static int greatestCommonDivisor(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    Picture getPicture(PictureKey key) {
+        return pictureCache.get(key);
+    }
+
+    void putPicture(PictureKey key, Picture picture) {
+        pictureCache.put(key, picture);
+    }
+
+    // Sizes of a style in pixels, for one generation of the display metrics
+    static final class Sizes {
+        final int generation;
+        final float width;
+        final float height;
+        final float textSize;
+        final float minTextSize;
+        final float density;
+
+        Sizes(DTextStyle style, DTextUnits.Snapshot units) {
+            if (style.isSpAndDp && units != null) {
+                generation = units.generation;
+                width = units.dpToPx(style.width);
+                height = units.dpToPx(style.height);
+                textSize = units.spToPx(style.textSize);
+                minTextSize = units.spToPx(style.minTextSize);
+                density = units.density;
+            } else {
+                generation = -1;
+                width = style.width;
+                height = style.height;
+                textSize = style.textSize;
+                minTextSize = style.minTextSize;
+                density = 1;
+            }
+        }
+    }
+
+    // Everything else that changes a recorded picture is part of the style.
+    static final class PictureKey {
+        private final String text;
+        private final int backgroundColor;
+        private final int width;
+        private final int height;
+
+        PictureKey(String text, int backgroundColor, int width, int height) {
+            this.text = text;
+            this.backgroundColor = backgroundColor;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PictureKey)) {
+                return false;
+            }
+            PictureKey key = (PictureKey) o;
+            return backgroundColor == key.backgroundColor && width == key.width &&
+                    height == key.height && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * text.hashCode() + backgroundColor;
+            result = 31 * result + width;
+            return 31 * result + height;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+// Shared snapshot of the display metrics, used to convert dp and sp to pixels
+// without looking up resources for every build. It listens for configuration
+// changes of the application, and every change of density or font scale bumps
+// the generation, so styles and drawables know their pixel sizes are stale.
+final class DTextUnits {
+    private static volatile Snapshot snapshot;
+    private static Context registeredContext;
+
+    private static final Set<DTextCache> caches =
+            Collections.newSetFromMap(new WeakHashMap<DTextCache, Boolean>());
+
+    private DTextUnits() {
+    }
+
+    static synchronized void register(@NonNull Context context) {
+        final Context applicationContext = context.getApplicationContext() != null ?
+                context.getApplicationContext() : context;
+        // An app has a single application context, only tests get a new one every time.
+        if (applicationContext == registeredContext) {
+            return;
+        }
+        registeredContext = applicationContext;
+        update(applicationContext.getResources().getDisplayMetrics());
+        applicationContext.registerComponentCallbacks(new ComponentCallbacks() {
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                update(applicationContext.getResources().getDisplayMetrics());
+            }
+
+            @Override
+            public void onLowMemory() {
+            }
+        });
+    }
+
+    // Returns the current snapshot, or null if no context is registered yet.
+    static Snapshot get() {
+        return snapshot;
+    }
+
+    static void update(DisplayMetrics displayMetrics) {
+        List<DTextCache> staleCaches;
+        synchronized (DTextUnits.class) {
+            Snapshot current = snapshot;
+            if (current != null && current.density == displayMetrics.density &&
+                    current.scaledDensity == displayMetrics.scaledDensity) {
+                return;
+            }
+            int generation = current == null ? 0 : current.generation + 1;
+            snapshot = new Snapshot(generation, displayMetrics.density,
+                    displayMetrics.scaledDensity);
+            staleCaches = new ArrayList<>(caches);
+        }
+        for (DTextCache cache : staleCaches) {
+            cache.evictStale(snapshot.generation);
+        }
+    }
+
+    // Caches are told to drop the bitmaps of older generations when the units change.
+    static synchronized void addCache(DTextCache cache) {
+        caches.add(cache);
+    }
+
+    static final class Snapshot {
+        final int generation;
+        final float density;
+        final float scaledDensity;
+
+        Snapshot(int generation, float density, float scaledDensity) {
+            this.generation = generation;
+            this.density = density;
+            this.scaledDensity = scaledDensity;
+        }
+
+        // Use to convert Density-independent Pixels to Pixels
+        float dpToPx(float dp) {
+            return dp < 0 ? dp : dp * density;
+        }
+
+        // Use to convert Scale-independent Pixels to Pixels
+        float spToPx(float sp) {
+            return sp < 0 ? sp : sp * scaledDensity;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Outline;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewOutlineProvider;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+// A view that draws a DText directly in onDraw(), without an ImageView and its
+// drawable bookkeeping. Changing the text only invalidates the view, it never
+// requests a layout, and a view with a fixed size is measured without looking at
+// the style at all. Use it for fixed size avatars in dense lists.
+public class DTextView extends View {
+    // Outline of the shape, so elevation and clipToOutline follow it without a Path.
+    private static final ViewOutlineProvider OUTLINE_PROVIDER = new ViewOutlineProvider() {
+        @Override
+        public void getOutline(View view, Outline outline) {
+            DText dText = ((DTextView) view).dText;
+            if (dText != null) {
+                dText.getOutline(outline);
+            }
+        }
+    };
+
+    private DTextStyle style;
+    private DText dText;
+    private String text = "";
+
+    public DTextView(Context context) {
+        super(context);
+        setOutlineProvider(OUTLINE_PROVIDER);
+    }
+
+    public DTextView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        setOutlineProvider(OUTLINE_PROVIDER);
+    }
+
+    public DTextView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        setOutlineProvider(OUTLINE_PROVIDER);
+    }
+
+    public void setStyle(@NonNull DTextStyle style) {
+        if (style == this.style) {
+            return;
+        }
+        DTextStyle oldStyle = this.style;
+        this.style = style;
+        this.dText = style.newDrawable(text);
+        updateDTextBounds();
+        invalidateOutline();
+        // Only a view that is sized by its content has to be measured again.
+        if (!hasFixedSize() && (oldStyle == null ||
+                oldStyle.getSizes().width != style.getSizes().width ||
+                oldStyle.getSizes().height != style.getSizes().height)) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    public DTextStyle getStyle() {
+        return this.style;
+    }
+
+    // Rebinds the view to the text. The size of the view does not depend on the
+    // text, so this only redraws it.
+    public void setText(String text) {
+        this.text = text;
+        if (dText != null) {
+            dText.setText(text);
+            invalidate();
+        }
+    }
+
+    // The resolved text that is drawn, or the raw text while no style is set.
+    public String getText() {
+        return dText != null ? dText.getText() : text;
+    }
+
+    public DText getDText() {
+        return this.dText;
+    }
+
+    private boolean hasFixedSize() {
+        return getLayoutParams() != null && getLayoutParams().width >= 0 &&
+                getLayoutParams().height >= 0;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.EXACTLY &&
+                MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY) {
+            // The parent decided the size, nothing to measure.
+            setMeasuredDimension(MeasureSpec.getSize(widthMeasureSpec),
+                    MeasureSpec.getSize(heightMeasureSpec));
+            return;
+        }
+        int width = getPaddingLeft() + getPaddingRight();
+        int height = getPaddingTop() + getPaddingBottom();
+        if (dText != null) {
+            width += Math.max(dText.getIntrinsicWidth(), 0);
+            height += Math.max(dText.getIntrinsicHeight(), 0);
+        }
+        setMeasuredDimension(
+                resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateDTextBounds();
+    }
+
+    private void updateDTextBounds() {
+        if (dText != null) {
+            dText.setBounds(getPaddingLeft(), getPaddingTop(),
+                    getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (dText != null) {
+            dText.draw(canvas);
+        }
+    }
+}
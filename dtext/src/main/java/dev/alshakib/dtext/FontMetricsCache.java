@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.LruCache;
+
+// Shared cache of font metrics by typeface and text size. Every avatar of a list
+// uses the same few sizes, so the metrics are measured once for all of them.
+final class FontMetricsCache {
+    private static final int MAX_SIZE = 64;
+
+    private static final LruCache<Key, Paint.FontMetrics> CACHE = new LruCache<>(MAX_SIZE);
+
+    private FontMetricsCache() {
+    }
+
+    static Paint.FontMetrics get(Typeface typeface, float textSize) {
+        Key key = new Key(typeface, textSize);
+        Paint.FontMetrics fontMetrics = CACHE.get(key);
+        if (fontMetrics == null) {
+            Paint paint = new Paint();
+            paint.setTypeface(typeface);
+            paint.setTextSize(textSize);
+            fontMetrics = paint.getFontMetrics();
+            CACHE.put(key, fontMetrics);
+        }
+        return fontMetrics;
+    }
+
+    private static final class Key {
+        private final Typeface typeface;
+        private final float textSize;
+
+        Key(Typeface typeface, float textSize) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Float.compare(key.textSize, textSize) == 0 &&
+                    (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (typeface == null ? 0 : typeface.hashCode()) + Float.floatToIntBits(textSize);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+// Single pass scanner that picks the initials of the first and the last word of
+// a name, like "JD" for "John Ronald Doe". Words are compared in place against
+// the lists below, so a name is never split, trimmed or cut into substrings; the
+// only allocation is the returned label. Each initial is a whole grapheme cluster
+// that passes the same digit and alphanumeric filters as LabelScanner.findFirst().
+final class InitialsScanner {
+    // Skip particles like "van" in "Ludwig van Beethoven", unless it is the first word.
+    static final int SKIP_PARTICLES = 1;
+    // Skip titles and suffixes like "Dr." or "Jr.", wherever they are.
+    static final int SKIP_HONORIFICS = 1 << 1;
+    // Skip text in brackets, like "(Work)" in "Jane Doe (Work)".
+    static final int SKIP_BRACKETED_TEXT = 1 << 2;
+
+    private static final String[] PARTICLES = {
+            "al", "bin", "binti", "da", "dal", "de", "dei", "del", "della", "der", "di",
+            "dos", "du", "el", "ibn", "la", "le", "st", "ten", "ter", "van", "von", "y", "zu"
+    };
+    private static final String[] HONORIFICS = {
+            "dame", "dr", "esq", "hon", "ii", "iii", "iv", "jr", "lady", "lord", "madam",
+            "miss", "mr", "mrs", "ms", "mx", "phd", "prof", "rev", "sir", "sr"
+    };
+
+    private InitialsScanner() {
+    }
+
+    // Returns the initials, or an empty string if no word qualifies.
+    static String findInitials(CharSequence text, boolean isDigitOnly, boolean isAlphaNumOnly,
+                               int rules) {
+        if (text == null) {
+            return "";
+        }
+        boolean skipBracketedText = (rules & SKIP_BRACKETED_TEXT) != 0;
+        int length = text.length();
+        int firstStart = -1;
+        int firstEnd = -1;
+        int lastStart = -1;
+        int lastEnd = -1;
+        int wordCount = 0;
+        int depth = 0;
+        int index = 0;
+        while (index < length) {
+            int codePoint = Character.codePointAt(text, index);
+            if (skipBracketedText && isOpenBracket(codePoint)) {
+                depth++;
+                index += Character.charCount(codePoint);
+                continue;
+            }
+            if (skipBracketedText && (depth > 0 || isCloseBracket(codePoint))) {
+                // A stray closing bracket is skipped as well.
+                if (depth > 0 && isCloseBracket(codePoint)) {
+                    depth--;
+                }
+                index += Character.charCount(codePoint);
+                continue;
+            }
+            if (isWordSeparator(codePoint)) {
+                index += Character.charCount(codePoint);
+                continue;
+            }
+
+            // Find the end of the word, and its first qualified character on the way.
+            int wordStart = index;
+            int initialStart = -1;
+            int initialEnd = -1;
+            while (index < length) {
+                codePoint = Character.codePointAt(text, index);
+                if (isWordSeparator(codePoint) || (skipBracketedText &&
+                        (isOpenBracket(codePoint) || isCloseBracket(codePoint)))) {
+                    break;
+                }
+                if (initialStart < 0 && LabelScanner.isQualified(codePoint, isDigitOnly,
+                        isAlphaNumOnly)) {
+                    initialStart = index;
+                    initialEnd = LabelScanner.findClusterEnd(text, index, codePoint);
+                    index = initialEnd;
+                } else {
+                    index += Character.charCount(codePoint);
+                }
+            }
+            int wordEnd = index;
+
+            if (initialStart < 0 || isSkipped(text, wordStart, wordEnd, wordCount, rules)) {
+                continue;
+            }
+            wordCount++;
+            if (firstStart < 0) {
+                firstStart = initialStart;
+                firstEnd = initialEnd;
+            } else {
+                lastStart = initialStart;
+                lastEnd = initialEnd;
+            }
+        }
+
+        if (firstStart < 0) {
+            return "";
+        }
+        int firstLength = firstEnd - firstStart;
+        int lastLength = lastStart < 0 ? 0 : lastEnd - lastStart;
+        StringBuilder builder = new StringBuilder(firstLength + lastLength);
+        builder.append(text, firstStart, firstEnd);
+        if (lastStart >= 0) {
+            builder.append(text, lastStart, lastEnd);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isSkipped(CharSequence text, int start, int end, int wordCount,
+                                     int rules) {
+        // Ignore a trailing period, like in "Dr." or "St.".
+        if (end - start > 1 && text.charAt(end - 1) == '.') {
+            end--;
+        }
+        if ((rules & SKIP_HONORIFICS) != 0 && matchesAny(text, start, end, HONORIFICS)) {
+            return true;
+        }
+        // A particle can also be a given name, like "Van Morrison".
+        return (rules & SKIP_PARTICLES) != 0 && wordCount > 0 &&
+                matchesAny(text, start, end, PARTICLES);
+    }
+
+    private static boolean matchesAny(CharSequence text, int start, int end, String[] words) {
+        for (String word : words) {
+            if (matches(text, start, end, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Case insensitive comparison of a region of the text with a lower case ASCII word.
+    private static boolean matches(CharSequence text, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = text.charAt(start + i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            if (c != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordSeparator(int codePoint) {
+        return codePoint <= ' ' || codePoint == ',' || Character.isWhitespace(codePoint) ||
+                Character.isSpaceChar(codePoint);
+    }
+
+    private static boolean isOpenBracket(int codePoint) {
+        return codePoint == '(' || codePoint == '[' || codePoint == '{';
+    }
+
+    private static boolean isCloseBracket(int codePoint) {
+        return codePoint == ')' || codePoint == ']' || codePoint == '}';
+    }
+}
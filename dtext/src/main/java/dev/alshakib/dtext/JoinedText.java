@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+// A first and a last name joined by a separator, without copying them into a new
+// string. The whole text is only built if toString() is called, for example to
+// draw it in full; scanning for initials or hashing it reads the parts in place.
+final class JoinedText implements CharSequence {
+    private final CharSequence first;
+    private final CharSequence separator;
+    private final CharSequence last;
+
+    JoinedText(CharSequence first, CharSequence separator, CharSequence last) {
+        this.first = first != null ? first : "";
+        this.separator = separator != null ? separator : "";
+        this.last = last != null ? last : "";
+    }
+
+    CharSequence getFirst() {
+        return this.first;
+    }
+
+    CharSequence getLast() {
+        return this.last;
+    }
+
+    @Override
+    public int length() {
+        return first.length() + separator.length() + last.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < first.length()) {
+            return first.charAt(index);
+        }
+        index -= first.length();
+        if (index < separator.length()) {
+            return separator.charAt(index);
+        }
+        return last.charAt(index - separator.length());
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(length()).append(first).append(separator).append(last)
+                .toString();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+// Resolves the text that a DText draws, from the text given to the builder.
+// It has no Android dependency, so it can be measured on a plain JVM.
+final class LabelResolver {
+    private final boolean toUpperCase;
+    private final boolean isFirstCharOnly;
+    private final boolean isDigitOnly;
+    private final boolean isAlphaNumOnly;
+    private final boolean isInitials;
+    private final int initialsRules;
+
+    LabelResolver(boolean toUpperCase, boolean isFirstCharOnly, boolean isDigitOnly,
+                  boolean isAlphaNumOnly) {
+        this(toUpperCase, isFirstCharOnly, isDigitOnly, isAlphaNumOnly, false, 0);
+    }
+
+    LabelResolver(boolean toUpperCase, boolean isFirstCharOnly, boolean isDigitOnly,
+                  boolean isAlphaNumOnly, boolean isInitials, int initialsRules) {
+        this.toUpperCase = toUpperCase;
+        this.isFirstCharOnly = isFirstCharOnly;
+        this.isDigitOnly = isDigitOnly;
+        this.isAlphaNumOnly = isAlphaNumOnly;
+        this.isInitials = isInitials;
+        this.initialsRules = initialsRules;
+    }
+
+    String getValidText(CharSequence text, CharSequence firstText, CharSequence lastText) {
+        String label;
+        if (isInitials) {
+            // A first and a last name are scanned as one name, so the rules apply
+            // to the words of both.
+            CharSequence name = firstText != null && lastText != null ?
+                    new JoinedText(firstText, " ", lastText) : text;
+            label = InitialsScanner.findInitials(name, isDigitOnly, isAlphaNumOnly,
+                    initialsRules);
+            if (label.isEmpty()) {
+                // Every word is skipped, like in "(Bot)", so fall back to the first letter
+                // or digit, "B" rather than the bracket.
+                label = LabelScanner.findFirst(name, isDigitOnly, true);
+            }
+            if (label.isEmpty()) {
+                // Build a dot as a drawable, if no valid text is found.
+                return "•";
+            }
+        } else if (firstText != null && lastText != null) {
+            if (isFirstCharOnly) {
+                String first = getValidFirstChar(firstText);
+                String last = getValidFirstChar(lastText);
+                if (first.isEmpty() && last.isEmpty()) {
+                    // Build a dot as a drawable, if no valid text is found.
+                    return "•";
+                }
+                label = first + last;
+            } else {
+                label = trim(text);
+            }
+        } else {
+            if (isFirstCharOnly) {
+                label = getValidFirstChar(text);
+                if (label.isEmpty()) {
+                    // Build a dot as a drawable, if no valid text is found.
+                    return "•";
+                }
+            } else {
+                label = trim(text);
+            }
+        }
+        label = toUpperCase ? label.toUpperCase() : label;
+        return label;
+    }
+
+    private String getValidFirstChar(CharSequence text) {
+        // Scan for the first character that passes the isDigitOnly and isAlphaNumOnly
+        // filters without building a filtered copy of the whole text.
+        return LabelScanner.findFirst(text, isDigitOnly, isAlphaNumOnly);
+    }
+
+    // Same as String.trim(), but only the trimmed part of any other text is copied.
+    private static String trim(CharSequence text) {
+        if (text instanceof String) {
+            return ((String) text).trim();
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return text.subSequence(start, end).toString();
+    }
+}
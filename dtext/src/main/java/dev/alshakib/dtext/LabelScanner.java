@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+// Single pass scanner that finds the first qualifying character of a text.
+// It walks code points instead of chars, so supplementary characters are never
+// cut in half, and it returns the whole grapheme cluster of the match, so emoji
+// with modifiers, flags and ZWJ sequences are kept intact.
+final class LabelScanner {
+    private static final int ZERO_WIDTH_JOINER = 0x200D;
+    private static final int COMBINING_KEYCAP = 0x20E3;
+
+    private LabelScanner() {
+    }
+
+    // Returns the first grapheme cluster that qualifies, or an empty string.
+    // Without any filter, leading whitespace and control characters are skipped
+    // the same way String.trim() does.
+    static String findFirst(CharSequence text, boolean isDigitOnly, boolean isAlphaNumOnly) {
+        if (text == null) {
+            return "";
+        }
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            int codePoint = Character.codePointAt(text, index);
+            if (isQualified(codePoint, isDigitOnly, isAlphaNumOnly)) {
+                int end = findClusterEnd(text, index, codePoint);
+                if (text instanceof String) {
+                    return ((String) text).substring(index, end);
+                }
+                return text.subSequence(index, end).toString();
+            }
+            index += Character.charCount(codePoint);
+        }
+        return "";
+    }
+
+    static boolean isQualified(int codePoint, boolean isDigitOnly, boolean isAlphaNumOnly) {
+        if (isDigitOnly) {
+            // If the text is "You have 4 notifications", "4" is the first qualified character.
+            return Character.getType(codePoint) == Character.DECIMAL_DIGIT_NUMBER;
+        }
+        if (isAlphaNumOnly) {
+            // If the text is "<Unknown>", "U" is the first qualified character.
+            return isAlphaNum(codePoint);
+        }
+        return codePoint > ' ';
+    }
+
+    static boolean isAlphaNum(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.UPPERCASE_LETTER:
+            case Character.LOWERCASE_LETTER:
+            case Character.TITLECASE_LETTER:
+            case Character.MODIFIER_LETTER:
+            case Character.OTHER_LETTER:
+            case Character.LETTER_NUMBER:
+            case Character.DECIMAL_DIGIT_NUMBER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Returns the end index (exclusive) of the grapheme cluster that starts at
+    // the given index with the given code point.
+    static int findClusterEnd(CharSequence text, int start, int firstCodePoint) {
+        int length = text.length();
+        int index = start + Character.charCount(firstCodePoint);
+        boolean isPairableRegionalIndicator = isRegionalIndicator(firstCodePoint);
+        while (index < length) {
+            int codePoint = Character.codePointAt(text, index);
+            if (codePoint == ZERO_WIDTH_JOINER) {
+                // Keep the joiner and the character it joins, like "👩‍💻".
+                index += Character.charCount(codePoint);
+                if (index < length) {
+                    index += Character.charCount(Character.codePointAt(text, index));
+                }
+            } else if (isExtend(codePoint)) {
+                index += Character.charCount(codePoint);
+            } else if (isPairableRegionalIndicator && isRegionalIndicator(codePoint)) {
+                // Two regional indicators make a flag, like "🇧🇩".
+                index += Character.charCount(codePoint);
+                isPairableRegionalIndicator = false;
+            } else {
+                break;
+            }
+        }
+        return index;
+    }
+
+    private static boolean isExtend(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+                return true;
+            default:
+                return codePoint == COMBINING_KEYCAP
+                        // Variation selectors
+                        || (codePoint >= 0xFE00 && codePoint <= 0xFE0F)
+                        || (codePoint >= 0xE0100 && codePoint <= 0xE01EF)
+                        // Emoji skin tone modifiers
+                        || (codePoint >= 0x1F3FB && codePoint <= 0x1F3FF)
+                        // Emoji tag sequences
+                        || (codePoint >= 0xE0020 && codePoint <= 0xE007F);
+        }
+    }
+
+    private static boolean isRegionalIndicator(int codePoint) {
+        return codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Finds the largest text size that fits a text into a box in up to a number of
+// lines, with a binary search on Paint.measureText(). Results are shared by all
+// instances, so a recycled view never measures the same text twice.
+final class TextFitter {
+    private static final int MAX_SIZE = 256;
+
+    private static final LruCache<Key, Result> CACHE = new LruCache<>(MAX_SIZE);
+
+    private TextFitter() {
+    }
+
+    static Result fit(String text, Typeface typeface, float maxWidth, float maxHeight,
+                      float minTextSize, float maxTextSize, int maxLines) {
+        Key key = new Key(text, typeface, maxWidth, maxHeight, minTextSize, maxTextSize, maxLines);
+        Result result = CACHE.get(key);
+        if (result == null) {
+            result = measure(text, typeface, maxWidth, maxHeight, minTextSize, maxTextSize,
+                    maxLines);
+            CACHE.put(key, result);
+        }
+        return result;
+    }
+
+    private static Result measure(String text, Typeface typeface, float maxWidth, float maxHeight,
+                                  float minTextSize, float maxTextSize, int maxLines) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTypeface(typeface);
+
+        // Search on whole pixels, which is as precise as text sizes need to be.
+        int low = (int) Math.max(1, Math.ceil(minTextSize));
+        int high = (int) Math.max(low, Math.floor(maxTextSize));
+        String[] best = null;
+        int bestTextSize = low;
+        while (low <= high) {
+            int textSize = (low + high) >>> 1;
+            paint.setTextSize(textSize);
+            String[] lines = breakLines(text, paint, maxWidth, maxHeight, maxLines);
+            if (lines != null) {
+                best = lines;
+                bestTextSize = textSize;
+                low = textSize + 1;
+            } else {
+                high = textSize - 1;
+            }
+        }
+        if (best == null) {
+            // It does not fit even with the smallest size, so cut the last line short.
+            paint.setTextSize(bestTextSize);
+            best = ellipsize(text, paint, maxWidth, maxHeight, maxLines);
+        }
+        return new Result(bestTextSize, best);
+    }
+
+    // Breaks the text into lines on spaces, or returns null if it does not fit.
+    private static String[] breakLines(String text, Paint paint, float maxWidth, float maxHeight,
+                                       int maxLines) {
+        Paint.FontMetrics fontMetrics = paint.getFontMetrics();
+        float lineHeight = fontMetrics.descent - fontMetrics.ascent;
+        int lineCount = Math.min(maxLines, (int) (maxHeight / lineHeight));
+        List<String> lines = new ArrayList<>(lineCount);
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            if (lines.size() == lineCount) {
+                return null;
+            }
+            int end = findLineEnd(text, start, paint, maxWidth);
+            if (end < 0) {
+                return null;
+            }
+            lines.add(text.substring(start, end).trim());
+            start = skipSpaces(text, end);
+        }
+        return lines.toArray(new String[0]);
+    }
+
+    private static String[] ellipsize(String text, TextPaint paint, float maxWidth,
+                                      float maxHeight, int maxLines) {
+        Paint.FontMetrics fontMetrics = paint.getFontMetrics();
+        float lineHeight = fontMetrics.descent - fontMetrics.ascent;
+        int lineCount = Math.max(1, Math.min(maxLines, (int) (maxHeight / lineHeight)));
+        List<String> lines = new ArrayList<>(lineCount);
+        int start = 0;
+        int length = text.length();
+        while (start < length && lines.size() < lineCount - 1) {
+            int end = findLineEnd(text, start, paint, maxWidth);
+            if (end < 0) {
+                // A single word is wider than the line, so break inside the word.
+                end = start + Math.max(1, paint.breakText(text, start, length, true,
+                        maxWidth, null));
+            }
+            lines.add(text.substring(start, end).trim());
+            start = skipSpaces(text, end);
+        }
+        if (start < length) {
+            lines.add(TextUtils.ellipsize(text.substring(start), paint, maxWidth,
+                    TextUtils.TruncateAt.END).toString());
+        }
+        return lines.toArray(new String[0]);
+    }
+
+    // Returns the end of the line that starts at start, breaking after the last space
+    // that fits, or -1 if not even the first word fits.
+    private static int findLineEnd(String text, int start, Paint paint, float maxWidth) {
+        int length = text.length();
+        int count = paint.breakText(text, start, length, true, maxWidth, null);
+        int end = start + count;
+        if (end >= length || text.charAt(end) == ' ') {
+            return end;
+        }
+        int lastSpace = text.lastIndexOf(' ', end - 1);
+        return lastSpace > start ? lastSpace : -1;
+    }
+
+    private static int skipSpaces(String text, int index) {
+        while (index < text.length() && text.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    static final class Result {
+        final float textSize;
+        final String[] lines;
+
+        Result(float textSize, String[] lines) {
+            this.textSize = textSize;
+            this.lines = lines;
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Typeface typeface;
+        private final float maxWidth;
+        private final float maxHeight;
+        private final float minTextSize;
+        private final float maxTextSize;
+        private final int maxLines;
+
+        Key(String text, Typeface typeface, float maxWidth, float maxHeight, float minTextSize,
+            float maxTextSize, int maxLines) {
+            this.text = text;
+            this.typeface = typeface;
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+            this.minTextSize = minTextSize;
+            this.maxTextSize = maxTextSize;
+            this.maxLines = maxLines;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Float.compare(key.maxWidth, maxWidth) == 0
+                    && Float.compare(key.maxHeight, maxHeight) == 0
+                    && Float.compare(key.minTextSize, minTextSize) == 0
+                    && Float.compare(key.maxTextSize, maxTextSize) == 0
+                    && maxLines == key.maxLines
+                    && text.equals(key.text)
+                    && (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + (typeface == null ? 0 : typeface.hashCode());
+            result = 31 * result + Float.floatToIntBits(maxWidth);
+            result = 31 * result + Float.floatToIntBits(maxHeight);
+            result = 31 * result + Float.floatToIntBits(minTextSize);
+            result = 31 * result + Float.floatToIntBits(maxTextSize);
+            result = 31 * result + maxLines;
+            return result;
+        }
+    }
+}
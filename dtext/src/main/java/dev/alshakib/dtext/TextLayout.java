@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.shapes.OvalShape;
+
+// Size and position of a label inside a box. DText, DTextGroup and BulkRenderer all
+// lay out their labels with it, so the same style fits the same text the same way.
+final class TextLayout {
+    // Part of the width and height, that auto fitted text may use
+    static final float TEXT_INSET = 0.9f;
+    static final float OVAL_TEXT_INSET = 0.7071f;
+
+    float textSize;
+    float textX;
+    // Baseline of the text, if it is drawn on a single line without fitting
+    float textY;
+    // Lines of auto fitted text and their baselines, null otherwise
+    String[] lines;
+    float[] lineY;
+
+    // Part of a box of the style's shape, that auto fitted text may use.
+    static float getInset(DTextStyle style) {
+        return OvalShape.class.isAssignableFrom(style.getShapeClass()) ?
+                OVAL_TEXT_INSET : TEXT_INSET;
+    }
+
+    // Centers the text in the box at the given text size. If the style fits text, it
+    // gets the largest size up to that one, that fits into the inset part of the box.
+    void update(DTextStyle style, DTextStyle.Sizes sizes, String text, Typeface typeface,
+                RectF box, float textSize, float inset) {
+        textX = box.centerX();
+        if (style.isAutoFitText() && box.width() > 0 && box.height() > 0) {
+            float minTextSize = sizes.minTextSize < 0 ?
+                    textSize / 4 : Math.min(sizes.minTextSize, textSize);
+            TextFitter.Result result = TextFitter.fit(text, typeface, box.width() * inset,
+                    box.height() * inset, minTextSize, textSize, style.getMaxLines());
+            Paint.FontMetrics fontMetrics = FontMetricsCache.get(typeface, result.textSize);
+            this.textSize = result.textSize;
+
+            float lineHeight = fontMetrics.descent - fontMetrics.ascent;
+            float top = box.centerY() - result.lines.length * lineHeight / 2;
+            lines = result.lines;
+            lineY = new float[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                lineY[i] = top + i * lineHeight - fontMetrics.ascent;
+            }
+            return;
+        }
+
+        Paint.FontMetrics fontMetrics = FontMetricsCache.get(typeface, textSize);
+        this.textSize = textSize;
+        textY = box.centerY() - ((fontMetrics.descent + fontMetrics.ascent) / 2);
+        lines = null;
+        lineY = null;
+    }
+
+    // Draws with the paint as it is, the caller sets its text size.
+    void draw(Canvas canvas, String text, Paint textPaint) {
+        if (lines == null) {
+            canvas.drawText(text, textX, textY, textPaint);
+        } else {
+            for (int i = 0; i < lines.length; i++) {
+                canvas.drawText(lines[i], textX, lineY[i], textPaint);
+            }
+        }
+    }
+}
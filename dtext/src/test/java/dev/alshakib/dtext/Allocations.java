@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+
+import java.lang.management.ManagementFactory;
+
+// Counts the bytes allocated by the current thread, for the allocation tests of the
+// drawables. It needs a HotSpot based JVM, as the tests do.
+final class Allocations {
+    static final int WARM_UP_COUNT = 1_000;
+    static final int DRAW_COUNT = 10_000;
+
+    // A single allocation per draw would add up to well over this budget. What is left
+    // is a fixed cost of the runtime itself, which does not grow with the number of draws.
+    static final long DRAW_BUDGET_BYTES = 8 * 1024;
+
+    private Allocations() {
+    }
+
+    // Bytes allocated by DRAW_COUNT draws, after the caches are warmed up.
+    static long measureDraws(Drawable drawable, Canvas canvas) {
+        for (int i = 0; i < WARM_UP_COUNT; i++) {
+            drawable.draw(canvas);
+        }
+        long allocatedBytes = getAllocatedBytes();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            drawable.draw(canvas);
+        }
+        return getAllocatedBytes() - allocatedBytes;
+    }
+
+    static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColorPickerTest {
+    @Test
+    public void pickByKey_sameKeyGivesSameColor() {
+        int color = ColorPicker.pickByKey("Al Shakib", ColorPicker.DEFAULT_COLORS);
+        assertEquals(color, ColorPicker.pickByKey("Al Shakib", ColorPicker.DEFAULT_COLORS));
+        assertEquals(color, ColorPicker.pickByKey(new StringBuilder(" Al Shakib "),
+                ColorPicker.DEFAULT_COLORS));
+    }
+
+    @Test
+    public void pickByKey_fallsBackToDefaultPalette() {
+        assertEquals(ColorPicker.pickByKey("Android", ColorPicker.DEFAULT_COLORS),
+                ColorPicker.pickByKey("Android", new int[0]));
+    }
+
+    @Test
+    public void pickByKey_spreadsKeysOverPalette() {
+        int[] palette = {0, 1, 2, 3};
+        int[] hits = new int[palette.length];
+        for (int i = 0; i < 1000; i++) {
+            hits[ColorPicker.pickByKey("User " + i, palette)]++;
+        }
+        for (int hit : hits) {
+            assertTrue(hit > 150);
+        }
+    }
+}
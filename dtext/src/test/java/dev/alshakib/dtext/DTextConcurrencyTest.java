@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DTextConcurrencyTest {
+    // Short enough for every unit test run. Run with -Ddtext.stress.iterations=1000000
+    // or more for a long stress run.
+    private static final int ITERATIONS = Integer.getInteger("dtext.stress.iterations", 10_000);
+    private static final int THREAD_COUNT = 8;
+    private static final String[] NAMES = {
+            "Alice Smith", "bob", "<Unknown> user", "Émile Zola", "李小龙", "محمد علي",
+            "👩‍💻 Coder", "123 Main", "", "Zoë Saldaña"
+    };
+
+    @Test
+    public void buildAndDraw_concurrentThreadsMatchSingleThread() throws Exception {
+        final DTextStyle style = new DText.Builder()
+                .firstCharOnly()
+                .toUpperCase()
+                .drawAsRound()
+                .hashBackgroundColor()
+                .buildStyle();
+
+        // Expected values, computed on this thread only.
+        final String[] expectedTexts = new String[NAMES.length];
+        final int[] expectedColors = new int[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) {
+            DText dText = style.newDrawable(NAMES[i]);
+            expectedTexts[i] = dText.getText();
+            expectedColors[i] = dText.getBackgroundColor();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                final int offset = t;
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        Canvas canvas = new NoOpCanvas();
+                        int count = 0;
+                        for (int i = offset; i < ITERATIONS; i += THREAD_COUNT) {
+                            int index = i % NAMES.length;
+                            DText dText = style.newDrawable(NAMES[index]);
+                            dText.setBounds(0, 0, 96, 96);
+                            dText.draw(canvas);
+                            assertEquals(expectedTexts[index], dText.getText());
+                            assertEquals(expectedColors[index], dText.getBackgroundColor());
+                            count++;
+                        }
+                        return count;
+                    }
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                // Rethrows the first assertion failure of a worker.
+                total += future.get();
+            }
+            assertEquals(ITERATIONS, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.shapes.OvalShape;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DTextDiskCacheTest {
+    private static final int SIZE_PX = 10;
+    // Header and ARGB pixels of a bitmap of SIZE_PX.
+    private static final long FILE_SIZE = 16 + SIZE_PX * SIZE_PX * 4;
+
+    private Context context;
+    private File directory;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        directory = new File(context.getCacheDir(), "dtext");
+        new DTextDiskCache(context, Long.MAX_VALUE).evictAll();
+    }
+
+    @Test
+    public void put_countsTheNewFileOnce() throws Exception {
+        DTextDiskCache diskCache = new DTextDiskCache(context, Long.MAX_VALUE);
+
+        put(diskCache, newKey("Alice"));
+
+        assertEquals(FILE_SIZE, diskCache.getSize());
+        assertEquals(FILE_SIZE, getFile(newKey("Alice")).length());
+    }
+
+    @Test
+    public void get_readsBackTheBitmap() throws Exception {
+        DTextDiskCache diskCache = new DTextDiskCache(context, Long.MAX_VALUE);
+        put(diskCache, newKey("Alice"));
+
+        Bitmap bitmap = diskCache.get(newKey("Alice"));
+
+        assertNotNull(bitmap);
+        assertEquals(SIZE_PX, bitmap.getWidth());
+        assertEquals(SIZE_PX, bitmap.getHeight());
+    }
+
+    @Test
+    public void get_deletesTruncatedFile() throws Exception {
+        DTextDiskCache diskCache = new DTextDiskCache(context, Long.MAX_VALUE);
+        DTextCache.Key key = newKey("Alice");
+        put(diskCache, key);
+        File file = getFile(key);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(FILE_SIZE / 2);
+        }
+
+        assertNull(diskCache.get(key));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void get_deletesFileOfAnotherVersion() throws Exception {
+        DTextDiskCache diskCache = new DTextDiskCache(context, Long.MAX_VALUE);
+        DTextCache.Key key = newKey("Alice");
+        put(diskCache, key);
+        File file = getFile(key);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            // The version follows the magic number.
+            randomAccessFile.seek(4);
+            randomAccessFile.writeInt(DTextDiskCache.FORMAT_VERSION + 1);
+        }
+
+        assertNull(diskCache.get(key));
+        assertFalse(file.exists());
+        assertEquals(0, diskCache.getSize());
+    }
+
+    @Test
+    public void put_deletesLeastRecentlyUsedFilesOverTheLimit() throws Exception {
+        DTextDiskCache diskCache = new DTextDiskCache(context, 2 * FILE_SIZE);
+        long now = System.currentTimeMillis();
+        put(diskCache, newKey("Alice"));
+        assertTrue(getFile(newKey("Alice")).setLastModified(now - 20_000));
+        put(diskCache, newKey("Bob"));
+        assertTrue(getFile(newKey("Bob")).setLastModified(now - 10_000));
+
+        put(diskCache, newKey("Carol"));
+
+        assertFalse(getFile(newKey("Alice")).exists());
+        assertTrue(getFile(newKey("Bob")).exists());
+        assertTrue(getFile(newKey("Carol")).exists());
+        assertEquals(2 * FILE_SIZE, diskCache.getSize());
+    }
+
+    private static void put(DTextDiskCache diskCache, DTextCache.Key key) throws Exception {
+        diskCache.put(key, Bitmap.createBitmap(SIZE_PX, SIZE_PX, Bitmap.Config.ARGB_8888));
+        diskCache.awaitWrites(10, TimeUnit.SECONDS);
+    }
+
+    private File getFile(DTextCache.Key key) {
+        return new File(directory, key.getFileName() + ".argb");
+    }
+
+    private static DTextCache.Key newKey(String text) {
+        return new DTextCache.Key(text, Color.WHITE, Color.GRAY, OvalShape.class, null, 0,
+                Typeface.DEFAULT, 24, false, 1, -1, -1, -1, SIZE_PX, SIZE_PX, 1, -1);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DTextGroupTest {
+    private static final List<String> MEMBERS =
+            Arrays.asList("Al Shakib", "<Unknown> user", "john appleseed", "Maria Garcia");
+
+    private final DTextStyle style = new DText.Builder()
+            .firstCharOnly()
+            .alphaNumOnly()
+            .toUpperCase()
+            .hashBackgroundColor()
+            .drawAsRound()
+            .buildStyle();
+
+    @Test
+    public void labels_matchDText() {
+        DTextGroup group = style.newGroupDrawable(MEMBERS, DTextGroup.LAYOUT_QUADRANT);
+
+        for (int i = 0; i < MEMBERS.size(); i++) {
+            assertEquals(style.newDrawable(MEMBERS.get(i)).getText(), group.getLabels().get(i));
+        }
+    }
+
+    @Test
+    public void labels_keepAtMostFourMembers() {
+        List<String> members = Arrays.asList("A", "B", "C", "D", "E");
+
+        DTextGroup group = style.newGroupDrawable(members, DTextGroup.LAYOUT_SPLIT);
+
+        assertEquals(Arrays.asList("A", "B", "C", "D"), group.getLabels());
+    }
+
+    @Test
+    public void draw_repeatedDrawsDoNotAllocate() {
+        Canvas canvas = new NoOpCanvas();
+        for (int layout : new int[]{DTextGroup.LAYOUT_SPLIT, DTextGroup.LAYOUT_QUADRANT,
+                DTextGroup.LAYOUT_STACKED}) {
+            DTextGroup group = style.newGroupDrawable(MEMBERS, layout);
+            group.setBounds(0, 0, 120, 120);
+
+            long allocatedBytes = Allocations.measureDraws(group, canvas);
+
+            assertTrue("draw() of layout " + layout + " allocated " + allocatedBytes +
+                    " bytes in " + Allocations.DRAW_COUNT + " calls",
+                    allocatedBytes < Allocations.DRAW_BUDGET_BYTES);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+// Builds run on the loader thread and are delivered through the main looper, which is
+// paused, so nothing is delivered before a test idles it.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class DTextLoaderTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private DTextStyle style;
+
+    @Before
+    public void setUp() {
+        style = new DText.Builder().drawAsRound().buildStyle();
+    }
+
+    @Test
+    public void load_sameKeyIsBuiltOnce() throws InterruptedException {
+        ImageView first = newImageView();
+        ImageView second = newImageView();
+
+        DText.load(style, "Alice").into(first);
+        DText.load(style, "Alice").into(second);
+        awaitText(first, "Alice");
+        awaitText(second, "Alice");
+
+        assertSame(first.getDrawable().getConstantState(),
+                second.getDrawable().getConstantState());
+    }
+
+    @Test
+    public void load_loadedKeyIsShownRightAway() throws InterruptedException {
+        awaitText(load("Alice"), "Alice");
+
+        ImageView imageView = load("Alice");
+
+        assertEquals("Alice", getText(imageView));
+    }
+
+    @Test
+    public void load_reboundViewCancelsTheOldKey() throws InterruptedException {
+        awaitText(load("Bob"), "Bob");
+        ImageView imageView = load("Alice");
+
+        DText.load(style, "Bob").into(imageView);
+        // Builds run one after another, so the old key is done once this one is.
+        awaitText(load("Carol"), "Carol");
+
+        assertEquals("Bob", getText(imageView));
+        assertNull(style.getLoadedStates().get("Alice"));
+    }
+
+    @Test
+    public void load_resultIsNotDeliveredToRecycledView() throws InterruptedException {
+        awaitText(load("Bob"), "Bob");
+        ImageView recycled = load("Alice");
+        ImageView waiting = load("Alice");
+
+        DText.load(style, "Bob").into(recycled);
+        awaitText(waiting, "Alice");
+
+        assertEquals("Bob", getText(recycled));
+        assertNotNull(style.getLoadedStates().get("Alice"));
+    }
+
+    private ImageView load(String text) {
+        ImageView imageView = newImageView();
+        DText.load(style, text).into(imageView);
+        return imageView;
+    }
+
+    private static ImageView newImageView() {
+        return new ImageView(RuntimeEnvironment.getApplication());
+    }
+
+    private static String getText(ImageView imageView) {
+        Drawable drawable = imageView.getDrawable();
+        return drawable instanceof DText ? ((DText) drawable).getText() : null;
+    }
+
+    // Idles the main looper until the view shows the text, the build itself runs on
+    // the loader thread.
+    private static void awaitText(ImageView imageView, String text)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        ShadowLooper.idleMainLooper();
+        while (!text.equals(getText(imageView))) {
+            assertTrue("Timed out waiting for " + text, System.nanoTime() < deadline);
+            Thread.sleep(10);
+            ShadowLooper.idleMainLooper();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DTextPrefetcherTest {
+    private static final int SIZE_PX = 10;
+    private static final int BITMAP_BYTES = SIZE_PX * SIZE_PX * 4;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void prefetch_rendersTheTextsIntoTheCache() throws Exception {
+        DTextCache cache = new DTextCache(1024 * 1024);
+        DTextStyle style = newStyle(cache);
+        DTextPrefetcher prefetcher = new DTextPrefetcher(style, SIZE_PX, SIZE_PX);
+
+        prefetcher.prefetch(Arrays.asList("Alice", "Bob"));
+        prefetcher.awaitPrefetches(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(2 * BITMAP_BYTES, cache.getSize());
+        DText dText = prefetcher.obtain("Alice");
+        dText.setBounds(0, 0, SIZE_PX, SIZE_PX);
+        dText.draw(new NoOpCanvas());
+        assertEquals(1, cache.getHitCount());
+        prefetcher.shutdown();
+    }
+
+    @Test
+    public void cancel_dropsTheOutstandingRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds the prefetcher thread in the first render, so the others are still queued.
+        DTextCache cache = new DTextCache(1024 * 1024) {
+            @Override
+            Bitmap load(Key key) {
+                started.countDown();
+                try {
+                    release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.load(key);
+            }
+        };
+        DTextPrefetcher prefetcher = new DTextPrefetcher(newStyle(cache), SIZE_PX, SIZE_PX);
+        prefetcher.prefetch("Alice");
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        prefetcher.prefetch(Arrays.asList("Bob", "Carol"));
+
+        prefetcher.cancel();
+        release.countDown();
+        prefetcher.awaitPrefetches(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(BITMAP_BYTES, cache.getSize());
+        prefetcher.shutdown();
+    }
+
+    private static DTextStyle newStyle(DTextCache cache) {
+        return new DText.Builder()
+                .drawAsRound()
+                .setCache(cache)
+                .buildStyle();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Color;
+import android.graphics.drawable.shapes.OvalShape;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+// Draws every builder configuration and compares the draw calls against a golden
+// transcript in src/test/resources/goldens. After an intended rendering change,
+// record the goldens again with:
+//     ./gradlew :dtext:testDebugUnitTest -Ddtext.recordGoldens=true
+// and review the diff. A configuration without a golden fails, so a new one has
+// to be recorded and committed with it. Cached bitmaps and pictures are recorded
+// as well, so their goldens show what was drawn into them.
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 28, shadows = {ShadowRecordingCanvas.class, ShadowRecordingPicture.class})
+public class DTextRenderTest {
+    private static final boolean RECORD_GOLDENS = Boolean.getBoolean("dtext.recordGoldens");
+    private static final String GOLDEN_DIR = "goldens";
+    private static final int SIZE = 120;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // Builders are created inside the test, as Android classes are only available
+    // in the Robolectric sandbox.
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        return Arrays.asList(new Object[][]{
+                {"rect_fullText"},
+                {"round_fullText"},
+                {"roundRect_fullText"},
+                {"customShape_fullText"},
+                {"round_firstCharOnly"},
+                {"round_alphaNumOnly"},
+                {"round_digitOnly"},
+                {"round_firstAndLast"},
+                {"round_firstAndLastWithSeparator"},
+                {"round_charArray"},
+                {"round_initials"},
+                {"round_emoji"},
+                {"round_bold"},
+                {"round_italic"},
+                {"round_boldItalic"},
+                {"round_textSizeAndColors"},
+                {"round_fixedSize"},
+                {"round_hashColor"},
+                {"round_hashColorKey"},
+                {"round_randomColor"},
+                {"round_autoFit"},
+                {"round_autoFitEllipsize"},
+                {"round_bitmapCache"},
+                {"round_pictureCache"}
+        });
+    }
+
+    private final String name;
+
+    public DTextRenderTest(String name) {
+        this.name = name;
+    }
+
+    @Test
+    public void draw_matchesGolden() throws IOException {
+        DText dText = createBuilder(name).build();
+        dText.setBounds(0, 0, SIZE, SIZE);
+        RecordingCanvas canvas = new RecordingCanvas();
+        dText.draw(canvas);
+        String transcript = canvas.getTranscript();
+
+        if (RECORD_GOLDENS) {
+            writeGolden(transcript);
+            return;
+        }
+        String golden = readGolden();
+        assertNotNull("No golden for " + name + ", record it with -Ddtext.recordGoldens=true",
+                golden);
+        assertEquals(golden, transcript);
+    }
+
+    private static DText.Builder createBuilder(String name) {
+        DText.Builder builder = new DText.Builder().setText("Android");
+        switch (name) {
+            case "rect_fullText":
+                return builder.drawAsRectangle();
+            case "round_fullText":
+                return builder.drawAsRound();
+            case "roundRect_fullText":
+                return builder.drawAsRectangle(16);
+            case "customShape_fullText":
+                return builder.setShape(new OvalShape());
+            case "round_firstCharOnly":
+                return builder.drawAsRound().setText("android").firstCharOnly().toUpperCase();
+            case "round_alphaNumOnly":
+                return builder.drawAsRound().setText("<Unknown> user").firstCharOnly()
+                        .alphaNumOnly();
+            case "round_digitOnly":
+                return builder.drawAsRound().setText("You have 4 notifications").firstCharOnly()
+                        .digitOnly();
+            case "round_firstAndLast":
+                return builder.drawAsRound().setText("Al", "Shakib").firstCharOnly();
+            case "round_firstAndLastWithSeparator":
+                return builder.drawAsRound().setText("Al", "Shakib", " ");
+            case "round_charArray":
+                return builder.drawAsRound().setText("xxAndroidxx".toCharArray(), 2, 4);
+            case "round_initials":
+                return builder.drawAsRound().setText("Dr. Ludwig van Beethoven (Work)")
+                        .initials().skipParticles().skipHonorifics().skipBracketedText();
+            case "round_emoji":
+                return builder.drawAsRound().setText("👩‍💻 Developer").firstCharOnly();
+            case "round_bold":
+                return builder.drawAsRound().boldText();
+            case "round_italic":
+                return builder.drawAsRound().italicText();
+            case "round_boldItalic":
+                return builder.drawAsRound().boldItalicText();
+            case "round_textSizeAndColors":
+                return builder.drawAsRound().setTextSize(24).setTextColor(Color.BLACK)
+                        .setBackgroundColor(Color.YELLOW);
+            case "round_fixedSize":
+                return builder.drawAsRound().setWidth(96).setHeight(96);
+            case "round_hashColor":
+                return builder.drawAsRound().hashBackgroundColor();
+            case "round_hashColorKey":
+                return builder.drawAsRound().hashBackgroundColor().setColorKey("user-42");
+            case "round_randomColor":
+                // A single color palette, so the pick is deterministic.
+                return builder.drawAsRound().randomBackgroundColor()
+                        .setRandomColorList(new int[]{0xFF0097A7});
+            case "round_autoFit":
+                return builder.drawAsRound().setText("Android DText Library").autoFitText()
+                        .setMaxLines(3);
+            case "round_autoFitEllipsize":
+                return builder.drawAsRound().setText("Android DText Library").autoFitText()
+                        .setMinTextSize(40);
+            case "round_bitmapCache":
+                return builder.drawAsRound().setCache(new DTextCache(1024 * 1024));
+            case "round_pictureCache":
+                return builder.drawAsRound().pictureCache();
+            default:
+                throw new IllegalArgumentException("Unknown configuration " + name);
+        }
+    }
+
+    private String readGolden() throws IOException {
+        InputStream inputStream = DTextRenderTest.class.getClassLoader()
+                .getResourceAsStream(GOLDEN_DIR + "/" + name + ".txt");
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new String(outputStream.toByteArray(), UTF_8);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    // Tests run in the module directory, so goldens are written next to the sources.
+    private void writeGolden(String transcript) throws IOException {
+        File directory = new File("src/test/resources/" + GOLDEN_DIR);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create " + directory);
+        }
+        OutputStream outputStream = new FileOutputStream(new File(directory, name + ".txt"));
+        try {
+            outputStream.write(transcript.getBytes(UTF_8));
+        } finally {
+            outputStream.close();
+        }
+    }
+}
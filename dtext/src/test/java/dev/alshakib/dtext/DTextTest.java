@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.shapes.ArcShape;
+import android.graphics.drawable.shapes.OvalShape;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class DTextTest {
+    private static final int BUILD_COUNT = 1_000;
+    // Per call budgets of building a drawable from a style, and of a whole builder.
+    // They leave room for the Robolectric shadows, but catch a new cache or a copy
+    // of the text being added to every build.
+    private static final long NEW_DRAWABLE_ALLOCATION_BUDGET_BYTES = 4 * 1024;
+    private static final long BUILD_ALLOCATION_BUDGET_BYTES = 16 * 1024;
+
+    @Test
+    public void draw_repeatedDrawsDoNotAllocate() {
+        DText dText = new DText.Builder()
+                .setText("<Unknown> user")
+                .firstCharOnly()
+                .alphaNumOnly()
+                .toUpperCase()
+                .drawAsRound()
+                .build();
+        dText.setBounds(0, 0, 120, 120);
+
+        long allocatedBytes = Allocations.measureDraws(dText, new NoOpCanvas());
+
+        assertTrue("draw() allocated " + allocatedBytes + " bytes in " +
+                Allocations.DRAW_COUNT + " calls", allocatedBytes < Allocations.DRAW_BUDGET_BYTES);
+    }
+
+    @Test
+    public void newDrawable_staysWithinAllocationBudget() {
+        DTextStyle style = new DText.Builder()
+                .firstCharOnly()
+                .hashBackgroundColor()
+                .drawAsRound()
+                .buildStyle();
+        for (int i = 0; i < Allocations.WARM_UP_COUNT; i++) {
+            style.newDrawable("Android");
+        }
+
+        long allocatedBytes = Allocations.getAllocatedBytes();
+        for (int i = 0; i < BUILD_COUNT; i++) {
+            style.newDrawable("Android");
+        }
+        long bytesPerCall = (Allocations.getAllocatedBytes() - allocatedBytes) / BUILD_COUNT;
+
+        assertTrue("newDrawable() allocated " + bytesPerCall + " bytes per call",
+                bytesPerCall < NEW_DRAWABLE_ALLOCATION_BUDGET_BYTES);
+    }
+
+    @Test
+    public void build_staysWithinAllocationBudget() {
+        DText.Builder builder = new DText.Builder()
+                .setText("Android")
+                .firstCharOnly()
+                .hashBackgroundColor()
+                .drawAsRound();
+        for (int i = 0; i < Allocations.WARM_UP_COUNT; i++) {
+            builder.build();
+        }
+
+        long allocatedBytes = Allocations.getAllocatedBytes();
+        for (int i = 0; i < BUILD_COUNT; i++) {
+            builder.build();
+        }
+        long bytesPerCall = (Allocations.getAllocatedBytes() - allocatedBytes) / BUILD_COUNT;
+
+        assertTrue("build() allocated " + bytesPerCall + " bytes per call",
+                bytesPerCall < BUILD_ALLOCATION_BUDGET_BYTES);
+    }
+
+    @Test
+    public void constantState_newDrawableKeepsTextAndColor() {
+        DText dText = new DText.Builder()
+                .setText("Android")
+                .firstCharOnly()
+                .hashBackgroundColor()
+                .build();
+
+        Drawable drawable = dText.getConstantState().newDrawable();
+
+        assertTrue(drawable instanceof DText);
+        assertEquals("A", ((DText) drawable).getText());
+        assertEquals(dText.getPaint().getColor(), ((DText) drawable).getPaint().getColor());
+    }
+
+    @Test
+    public void builderSetText_everySingleTextOverloadReplacesFirstAndLast() {
+        DText.Builder builder = new DText.Builder().firstCharOnly();
+
+        builder.setText("Al", "Shakib").setText("Android");
+        assertEquals("A", builder.build().getText());
+
+        builder.setText("Al", "Shakib").setText(new StringBuilder("Robot"));
+        assertEquals("R", builder.build().getText());
+
+        builder.setText("Al", "Shakib").setText("xKotlin".toCharArray(), 1, 6);
+        assertEquals("K", builder.build().getText());
+    }
+
+    @Test
+    public void mutate_doesNotChangeSharedState() {
+        DText dText = new DText.Builder().setText("Android").build();
+        Drawable.ConstantState constantState = dText.getConstantState();
+        DText first = (DText) constantState.newDrawable();
+        DText second = (DText) constantState.newDrawable();
+
+        first.mutate().setAlpha(100);
+
+        assertNotSame(constantState, first.getConstantState());
+        assertSame(constantState, second.getConstantState());
+    }
+
+    @Test
+    public void setAlpha_doesNotChangeSiblings() {
+        DText dText = new DText.Builder().setText("Android").build();
+        Drawable.ConstantState constantState = dText.getConstantState();
+        DText first = (DText) constantState.newDrawable();
+        DText second = (DText) constantState.newDrawable();
+
+        first.setAlpha(100);
+        DText third = (DText) constantState.newDrawable();
+
+        assertEquals(100, first.getAlpha());
+        assertEquals(255, second.getAlpha());
+        assertEquals(255, third.getAlpha());
+        assertSame(constantState, first.getConstantState());
+    }
+
+    @Test
+    public void pool_releaseRemovesTintAndDrawsBuiltInShapeAgain() {
+        DTextStyle style = new DText.Builder().drawAsRound().buildStyle();
+        DTextPool pool = new DTextPool(4);
+        DText dText = pool.acquire(style, "Android");
+        dText.setTint(Color.RED);
+        assertNotNull(dText.getShape());
+
+        pool.release(dText);
+        DText reused = pool.acquire(style, "Kotlin");
+
+        assertSame(dText, reused);
+        assertNull(reused.getShape());
+    }
+
+    @Test
+    public void pictureKey_sharedOnlyByBoundsThatScaleExactly() {
+        DTextStyle round = new DText.Builder().drawAsRound().pictureCache().buildStyle();
+        DTextStyle roundRect = new DText.Builder().drawAsRectangle(8).pictureCache().buildStyle();
+
+        assertEquals(round.newPictureKey("A", Color.RED, 40, 40),
+                round.newPictureKey("A", Color.RED, 120, 120));
+        assertNotEquals(round.newPictureKey("A", Color.RED, 40, 40),
+                round.newPictureKey("A", Color.RED, 80, 40));
+        assertNotEquals(roundRect.newPictureKey("A", Color.RED, 40, 40),
+                roundRect.newPictureKey("A", Color.RED, 120, 120));
+    }
+
+    @Test
+    public void cache_usedForTranslucentTextColor() {
+        DTextCache cache = new DTextCache(1024 * 1024);
+        DText dText = new DText.Builder()
+                .setText("Android")
+                .setTextColor(0x80FFFFFF)
+                .setCache(cache)
+                .build();
+        dText.setBounds(0, 0, 120, 120);
+        Canvas canvas = new NoOpCanvas();
+
+        dText.draw(canvas);
+        dText.draw(canvas);
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void cache_notSharedWithTintedInstances() {
+        DTextStyle style = new DText.Builder()
+                .drawAsRound()
+                .setCache(new DTextCache(1024 * 1024))
+                .buildStyle();
+        DText tinted = style.newDrawable("Android");
+        tinted.setTintList(ColorStateList.valueOf(Color.RED));
+        tinted.setBounds(0, 0, 120, 120);
+        DText untinted = style.newDrawable("Android");
+        untinted.setBounds(0, 0, 120, 120);
+
+        tinted.draw(new NoOpCanvas());
+        assertEquals(0, style.getCache().getSize());
+
+        untinted.draw(new NoOpCanvas());
+        assertTrue(style.getCache().getSize() > 0);
+
+        RecordingCanvas canvas = new RecordingCanvas();
+        tinted.draw(canvas);
+        assertFalse(canvas.getTranscript().contains("drawBitmap"));
+    }
+
+    @Test
+    public void picture_notSharedWithTintedInstances() {
+        DTextStyle style = new DText.Builder()
+                .drawAsRound()
+                .pictureCache()
+                .buildStyle();
+        DText tinted = style.newDrawable("Android");
+        tinted.setTintList(ColorStateList.valueOf(Color.RED));
+        tinted.setBounds(0, 0, 120, 120);
+        DText untinted = style.newDrawable("Android");
+        untinted.setBounds(0, 0, 120, 120);
+
+        untinted.draw(new NoOpCanvas());
+        RecordingCanvas canvas = new RecordingCanvas();
+        tinted.draw(canvas);
+
+        assertFalse(canvas.getTranscript().contains("drawPicture"));
+    }
+
+    @Test
+    public void cacheKey_includesTextFitting() {
+        DTextCache.Key oneLine = newCacheKey(true, 1, -1);
+
+        assertEquals(oneLine, newCacheKey(true, 1, -1));
+        assertNotEquals(oneLine, newCacheKey(false, 1, -1));
+        assertNotEquals(oneLine, newCacheKey(true, 2, -1));
+        assertNotEquals(oneLine, newCacheKey(true, 1, 12));
+    }
+
+    @Test
+    public void cache_keyedByCustomShapeAndFixedSize() {
+        DTextCache cache = new DTextCache(1024 * 1024);
+        DText.Builder builder = new DText.Builder().setText("Android").setCache(cache);
+        DText[] dTexts = {
+                builder.setShape(new ArcShape(0, 270)).build(),
+                builder.setShape(new ArcShape(90, 180)).build(),
+                builder.drawAsRound().build(),
+                builder.setWidth(96).setHeight(96).build()
+        };
+
+        for (DText dText : dTexts) {
+            dText.setBounds(0, 0, 120, 120);
+            dText.draw(new NoOpCanvas());
+        }
+
+        assertEquals(dTexts.length, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    private static DTextCache.Key newCacheKey(boolean isAutoFitText, int maxLines,
+                                              float minTextSize) {
+        return new DTextCache.Key("Alice Smith", Color.WHITE, Color.GRAY, OvalShape.class, null,
+                0, Typeface.DEFAULT, 24, isAutoFitText, maxLines, minTextSize, -1, -1, 120, 120, 1,
+                -1);
+    }
+}
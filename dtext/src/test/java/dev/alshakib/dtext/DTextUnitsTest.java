@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.app.Application;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.Picture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+// Robolectric changes the resources without telling the application, so the tests
+// pass the new configuration on, like the system does on a device.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, qualifiers = "mdpi")
+public class DTextUnitsTest {
+    private static final float DELTA = 0.001f;
+
+    private Application application;
+    private DTextStyle style;
+
+    @Before
+    public void setUp() {
+        application = RuntimeEnvironment.getApplication();
+        style = new DText.Builder()
+                .useSpAndDp(application)
+                .drawAsRound()
+                .setWidth(48)
+                .setHeight(48)
+                .setTextSize(20)
+                .pictureCache()
+                .buildStyle();
+    }
+
+    @Test
+    public void densityChange_incrementsTheGeneration() {
+        int generation = DTextUnits.get().generation;
+
+        setDensity("xxhdpi");
+
+        assertEquals(generation + 1, DTextUnits.get().generation);
+        assertEquals(3, DTextUnits.get().density, DELTA);
+    }
+
+    @Test
+    public void fontScaleChange_incrementsTheGeneration() {
+        int generation = DTextUnits.get().generation;
+
+        setFontScale(1.5f);
+
+        assertEquals(generation + 1, DTextUnits.get().generation);
+        assertEquals(1.5f, DTextUnits.get().scaledDensity, DELTA);
+    }
+
+    @Test
+    public void unchangedConfiguration_keepsTheGeneration() {
+        int generation = DTextUnits.get().generation;
+
+        application.onConfigurationChanged(application.getResources().getConfiguration());
+
+        assertEquals(generation, DTextUnits.get().generation);
+    }
+
+    @Test
+    public void getSizes_convertsAgainAfterDensityChange() {
+        DTextStyle.Sizes sizes = style.getSizes();
+        assertEquals(48, sizes.width, DELTA);
+        assertSame(sizes, style.getSizes());
+
+        setDensity("xxhdpi");
+
+        sizes = style.getSizes();
+        assertEquals(DTextUnits.get().generation, sizes.generation);
+        assertEquals(144, sizes.width, DELTA);
+        assertEquals(144, sizes.height, DELTA);
+        assertEquals(60, sizes.textSize, DELTA);
+    }
+
+    @Test
+    public void getSizes_convertsTextSizeAgainAfterFontScaleChange() {
+        setFontScale(1.5f);
+
+        DTextStyle.Sizes sizes = style.getSizes();
+        assertEquals(48, sizes.width, DELTA);
+        assertEquals(30, sizes.textSize, DELTA);
+    }
+
+    @Test
+    public void getSizes_evictsPicturesOfTheOldSizes() {
+        DTextStyle.PictureKey key = style.newPictureKey("A", Color.GRAY, 48, 48);
+        style.putPicture(key, new Picture());
+        style.getSizes();
+        assertNotNull(style.getPicture(key));
+
+        setDensity("xxhdpi");
+        style.getSizes();
+
+        assertNull(style.getPicture(key));
+    }
+
+    private void setDensity(String qualifier) {
+        RuntimeEnvironment.setQualifiers(qualifier);
+        application.onConfigurationChanged(application.getResources().getConfiguration());
+    }
+
+    private void setFontScale(float fontScale) {
+        Resources resources = application.getResources();
+        Configuration configuration = new Configuration(resources.getConfiguration());
+        configuration.fontScale = fontScale;
+        resources.updateConfiguration(configuration, resources.getDisplayMetrics());
+        application.onConfigurationChanged(configuration);
+    }
+}
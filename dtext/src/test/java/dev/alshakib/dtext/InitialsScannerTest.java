@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InitialsScannerTest {
+    private static final int ALL_RULES = InitialsScanner.SKIP_PARTICLES |
+            InitialsScanner.SKIP_HONORIFICS | InitialsScanner.SKIP_BRACKETED_TEXT;
+
+    @Test
+    public void findInitials_firstAndLastWord() {
+        assertEquals("JD", InitialsScanner.findInitials("  John Ronald  Doe ", false, false, 0));
+        assertEquals("J", InitialsScanner.findInitials("John", false, false, 0));
+        assertEquals("", InitialsScanner.findInitials("   ", false, false, 0));
+    }
+
+    @Test
+    public void findInitials_skipsParticlesButNotTheFirstWord() {
+        assertEquals("LB", InitialsScanner.findInitials("Ludwig van Beethoven", false, false,
+                ALL_RULES));
+        assertEquals("L", InitialsScanner.findInitials("Ludwig van", false, false, ALL_RULES));
+        assertEquals("VM", InitialsScanner.findInitials("Van Morrison", false, false, ALL_RULES));
+    }
+
+    @Test
+    public void findInitials_skipsHonorifics() {
+        assertEquals("JS", InitialsScanner.findInitials("Dr. John Smith, Jr.", false, false,
+                ALL_RULES));
+        assertEquals("DJ", InitialsScanner.findInitials("Dr. John Smith, Jr.", false, false, 0));
+    }
+
+    @Test
+    public void findInitials_skipsBracketedText() {
+        assertEquals("JD", InitialsScanner.findInitials("Jane Doe (Work [old])", false, false,
+                ALL_RULES));
+        assertEquals("JW", InitialsScanner.findInitials("Jane (Work)", false, true, 0));
+        assertEquals("", InitialsScanner.findInitials("(Bot)", false, false, ALL_RULES));
+    }
+
+    @Test
+    public void getValidText_fallsBackToFirstLetterOrDigitOfSkippedName() {
+        LabelResolver labelResolver = new LabelResolver(false, false, false, false, true,
+                ALL_RULES);
+
+        assertEquals("B", labelResolver.getValidText("(Bot)", null, null));
+        assertEquals("4", labelResolver.getValidText("[42]", null, null));
+        assertEquals("•", labelResolver.getValidText("(…)", null, null));
+    }
+
+    @Test
+    public void findInitials_appliesFiltersAndKeepsClusters() {
+        assertEquals("Uu", InitialsScanner.findInitials("<Unknown> user", false, true, 0));
+        assertEquals("42", InitialsScanner.findInitials("Room 4 Floor 2", true, false, 0));
+        assertEquals("👩‍💻D", InitialsScanner.findInitials("👩‍💻 Developer", false, false, 0));
+    }
+
+    @Test
+    public void findInitials_readsAnyCharSequence() {
+        char[] buffer = "xxJohn Doexx".toCharArray();
+        assertEquals("JD", InitialsScanner.findInitials(java.nio.CharBuffer.wrap(buffer, 2, 8),
+                false, false, 0));
+        assertEquals("JD", InitialsScanner.findInitials(new JoinedText("John", " ", "Doe"),
+                false, false, 0));
+    }
+}
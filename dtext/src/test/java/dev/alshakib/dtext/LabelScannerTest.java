@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LabelScannerTest {
+    @Test
+    public void findFirst_skipsLeadingWhitespace() {
+        assertEquals("A", LabelScanner.findFirst("  Android", false, false));
+    }
+
+    @Test
+    public void findFirst_returnsEmptyForEmptyText() {
+        assertEquals("", LabelScanner.findFirst("", false, false));
+        assertEquals("", LabelScanner.findFirst("   ", false, true));
+        assertEquals("", LabelScanner.findFirst("No digit", true, false));
+    }
+
+    @Test
+    public void findFirst_digitOnly() {
+        assertEquals("4", LabelScanner.findFirst("You have 4 notifications", true, false));
+        assertEquals("৪", LabelScanner.findFirst("আপনার ৪টি বার্তা", true, false));
+    }
+
+    @Test
+    public void findFirst_alphaNumOnly() {
+        assertEquals("U", LabelScanner.findFirst("<Unknown>", false, true));
+        assertEquals("𝒜", LabelScanner.findFirst("(𝒜lpha)", false, true));
+    }
+
+    @Test
+    public void findFirst_keepsGraphemeClusters() {
+        assertEquals("কি", LabelScanner.findFirst("কিছু", false, false));
+        assertEquals("👍🏽", LabelScanner.findFirst("👍🏽 Thanks", false, false));
+        assertEquals("👩‍💻", LabelScanner.findFirst("👩‍💻 Developer", false, false));
+        assertEquals("🇧🇩", LabelScanner.findFirst("🇧🇩🇧🇩", false, false));
+        assertEquals("é", LabelScanner.findFirst("école", false, true));
+    }
+}
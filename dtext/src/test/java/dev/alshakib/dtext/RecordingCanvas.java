@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+
+import java.util.Locale;
+
+// Writes every draw call with its geometry and paint as a line of text. The
+// transcript is compared against golden files, which does not depend on how
+// the test runtime rasterizes shapes and glyphs.
+class RecordingCanvas extends Canvas {
+    private final StringBuilder transcript = new StringBuilder();
+    private int saveCount = 1;
+
+    String getTranscript() {
+        return transcript.toString();
+    }
+
+    @Override
+    public int save() {
+        append("save");
+        return saveCount++;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        append("restoreToCount %d", saveCount);
+        this.saveCount = saveCount;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        append("translate %.2f %.2f", dx, dy);
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        append("scale %.3f %.3f", sx, sy);
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        append("drawRect %s %s", describe(rect), describe(paint));
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        drawRect(new RectF(left, top, right, bottom), paint);
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        append("drawOval %s %s", describe(oval), describe(paint));
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        append("drawCircle %.2f %.2f r=%.2f %s", cx, cy, radius, describe(paint));
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        append("drawRoundRect %s rx=%.2f ry=%.2f %s", describe(rect), rx, ry, describe(paint));
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        RectF bounds = new RectF();
+        path.computeBounds(bounds, true);
+        append("drawPath %s %s", describe(bounds), describe(paint));
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        Typeface typeface = paint.getTypeface();
+        append("drawText \"%s\" %.2f %.2f size=%.2f style=%d align=%s %s", text, x, y,
+                paint.getTextSize(), typeface != null ? typeface.getStyle() : 0,
+                paint.getTextAlign(), describe(paint));
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        append("drawBitmap %dx%d %.2f %.2f", bitmap.getWidth(), bitmap.getHeight(), left, top);
+        appendNested(ShadowRecordingCanvas.getTranscript(bitmap));
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        append("drawPicture %dx%d", picture.getWidth(), picture.getHeight());
+        appendNested(ShadowRecordingPicture.getTranscript(picture));
+    }
+
+    private void append(String format, Object... args) {
+        transcript.append(String.format(Locale.US, format, args)).append('\n');
+    }
+
+    // Content of a drawn bitmap or picture, indented below its draw call. It is only
+    // known with the recording shadows of DTextRenderTest.
+    private void appendNested(String nestedTranscript) {
+        if (nestedTranscript == null) {
+            return;
+        }
+        for (String line : nestedTranscript.split("\n")) {
+            transcript.append("    ").append(line).append('\n');
+        }
+    }
+
+    private static String describe(RectF rect) {
+        return String.format(Locale.US, "[%.2f %.2f %.2f %.2f]", rect.left, rect.top,
+                rect.right, rect.bottom);
+    }
+
+    private static String describe(Paint paint) {
+        return String.format(Locale.US, "color=#%08X alpha=%d", paint.getColor(),
+                paint.getAlpha());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadow.api.Shadow;
+import org.robolectric.shadows.ShadowPaint;
+
+// Measures text like a monospace font that scales with the text size. The default
+// shadow measures every char as one pixel at any size and has no font metrics, so
+// no text would ever need a smaller size to fit, and every baseline would be the
+// center of the box. Copies and alpha behave like on a device as well: the default
+// shadow drops typeface, alignment and text size of a copied paint, and keeps the
+// alpha apart from the color, starting at 0.
+@Implements(Paint.class)
+public class ShadowMonospacePaint extends ShadowPaint {
+    // Width of a char, and ascent and descent of a line, as parts of the text size.
+    static final float CHAR_WIDTH = 0.5f;
+    static final float ASCENT = -0.8f;
+    static final float DESCENT = 0.2f;
+
+    @Implementation
+    @Override
+    protected void __constructor__(Paint otherPaint) {
+        super.__constructor__(otherPaint);
+        ShadowMonospacePaint otherShadow = Shadow.extract(otherPaint);
+        setTypeface(otherShadow.getTypeface());
+        setTextAlign(otherShadow.getTextAlign());
+        setTextSize(otherShadow.getTextSize());
+    }
+
+    @Implementation
+    @Override
+    protected void setColor(int color) {
+        super.setColor(color);
+        super.setAlpha(Color.alpha(color));
+    }
+
+    @Implementation
+    @Override
+    protected int getAlpha() {
+        return Color.alpha(getColor());
+    }
+
+    @Implementation
+    @Override
+    protected void setAlpha(int alpha) {
+        setColor((getColor() & 0x00FFFFFF) | (alpha << 24));
+    }
+
+    @Implementation
+    @Override
+    protected float measureText(String text) {
+        return measure(text.length());
+    }
+
+    @Implementation
+    @Override
+    protected float measureText(String text, int start, int end) {
+        return measure(end - start);
+    }
+
+    @Implementation
+    @Override
+    protected float measureText(CharSequence text, int start, int end) {
+        return measure(end - start);
+    }
+
+    @Implementation
+    @Override
+    protected float measureText(char[] text, int index, int count) {
+        return measure(count);
+    }
+
+    @Implementation
+    protected int breakText(String text, boolean measureForwards, float maxWidth,
+                            float[] measuredWidth) {
+        return breakText(text.length(), maxWidth, measuredWidth);
+    }
+
+    @Implementation
+    protected int breakText(CharSequence text, int start, int end, boolean measureForwards,
+                            float maxWidth, float[] measuredWidth) {
+        return breakText(end - start, maxWidth, measuredWidth);
+    }
+
+    @Implementation
+    protected int breakText(char[] text, int index, int count, float maxWidth,
+                            float[] measuredWidth) {
+        return breakText(Math.abs(count), maxWidth, measuredWidth);
+    }
+
+    @Implementation
+    protected float getFontMetrics(Paint.FontMetrics metrics) {
+        float textSize = getTextSize();
+        if (metrics != null) {
+            metrics.top = metrics.ascent = ASCENT * textSize;
+            metrics.bottom = metrics.descent = DESCENT * textSize;
+            metrics.leading = 0;
+        }
+        return (DESCENT - ASCENT) * textSize;
+    }
+
+    @Implementation
+    protected float ascent() {
+        return ASCENT * getTextSize();
+    }
+
+    @Implementation
+    protected float descent() {
+        return DESCENT * getTextSize();
+    }
+
+    private float measure(int charCount) {
+        return charCount * CHAR_WIDTH * getTextSize();
+    }
+
+    private int breakText(int charCount, float maxWidth, float[] measuredWidth) {
+        float charWidth = CHAR_WIDTH * getTextSize();
+        int count = charWidth > 0 ? Math.min(charCount, (int) (maxWidth / charWidth)) : charCount;
+        if (measuredWidth != null) {
+            measuredWidth[0] = measure(count);
+        }
+        return count;
+    }
+}
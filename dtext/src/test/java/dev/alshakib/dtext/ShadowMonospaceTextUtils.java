@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowTextUtils;
+
+// Ellipsizes at the end with the widths of ShadowMonospacePaint. The default shadow
+// cuts the text at one char per pixel, without an ellipsis.
+@Implements(TextUtils.class)
+public class ShadowMonospaceTextUtils extends ShadowTextUtils {
+    private static final String ELLIPSIS = "…";
+
+    @Implementation
+    protected static CharSequence ellipsize(CharSequence text, TextPaint paint, float avail,
+                                            TextUtils.TruncateAt where) {
+        if (paint.measureText(text, 0, text.length()) <= avail) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && paint.measureText(text.subSequence(0, end) + ELLIPSIS) > avail) {
+            end--;
+        }
+        return end == 0 ? "" : text.subSequence(0, end) + ELLIPSIS;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowCanvas;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Records the draw calls into a bitmap, so a golden of a drawn bitmap shows what the
+// bitmap holds. The default shadow only describes a bitmap by its size.
+@Implements(Canvas.class)
+public class ShadowRecordingCanvas extends ShadowCanvas {
+    private static final Map<Bitmap, RecordingCanvas> RECORDINGS =
+            Collections.synchronizedMap(new WeakHashMap<Bitmap, RecordingCanvas>());
+
+    private RecordingCanvas recordingCanvas;
+
+    // Transcript of the bitmap, or null if nothing was drawn into it with this shadow.
+    static String getTranscript(Bitmap bitmap) {
+        RecordingCanvas recordingCanvas = RECORDINGS.get(bitmap);
+        return recordingCanvas != null ? recordingCanvas.getTranscript() : null;
+    }
+
+    @Implementation
+    @Override
+    protected void __constructor__(Bitmap bitmap) {
+        super.__constructor__(bitmap);
+        startRecording(bitmap);
+    }
+
+    @Implementation
+    @Override
+    protected void setBitmap(Bitmap bitmap) {
+        super.setBitmap(bitmap);
+        startRecording(bitmap);
+    }
+
+    @Implementation
+    @Override
+    protected void translate(float dx, float dy) {
+        super.translate(dx, dy);
+        if (recordingCanvas != null) {
+            recordingCanvas.translate(dx, dy);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void scale(float sx, float sy) {
+        super.scale(sx, sy);
+        if (recordingCanvas != null) {
+            recordingCanvas.scale(sx, sy);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        super.drawRect(left, top, right, bottom, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawRect(left, top, right, bottom, paint);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawOval(RectF oval, Paint paint) {
+        super.drawOval(oval, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawOval(oval, paint);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawCircle(float cx, float cy, float radius, Paint paint) {
+        super.drawCircle(cx, cy, radius, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawCircle(cx, cy, radius, paint);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        super.drawRoundRect(rect, rx, ry, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawRoundRect(rect, rx, ry, paint);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawPath(Path path, Paint paint) {
+        super.drawPath(path, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawPath(path, paint);
+        }
+    }
+
+    @Implementation
+    @Override
+    protected void drawText(String text, float x, float y, Paint paint) {
+        super.drawText(text, x, y, paint);
+        if (recordingCanvas != null) {
+            recordingCanvas.drawText(text, x, y, paint);
+        }
+    }
+
+    private void startRecording(Bitmap bitmap) {
+        if (bitmap == null) {
+            recordingCanvas = null;
+            return;
+        }
+        recordingCanvas = new RecordingCanvas();
+        RECORDINGS.put(bitmap, recordingCanvas);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadow.api.Shadow;
+import org.robolectric.shadows.ShadowPicture;
+
+// Records into a RecordingCanvas, so a golden of a drawn picture shows what the
+// picture holds. The default shadow records into a canvas that draws nothing.
+@Implements(Picture.class)
+public class ShadowRecordingPicture extends ShadowPicture {
+    private RecordingCanvas recordingCanvas;
+
+    // Transcript of the picture, or null if it was not recorded with this shadow.
+    static String getTranscript(Picture picture) {
+        Object shadow = Shadow.extract(picture);
+        if (!(shadow instanceof ShadowRecordingPicture)) {
+            return null;
+        }
+        RecordingCanvas recordingCanvas = ((ShadowRecordingPicture) shadow).recordingCanvas;
+        return recordingCanvas != null ? recordingCanvas.getTranscript() : null;
+    }
+
+    @Implementation
+    @Override
+    protected Canvas beginRecording(int width, int height) {
+        super.beginRecording(width, height);
+        recordingCanvas = new RecordingCanvas();
+        return recordingCanvas;
+    }
+}
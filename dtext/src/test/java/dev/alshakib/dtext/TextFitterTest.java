@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Al Shakib (shakib@alshakib.dev)
+ *
+ * This file is part of Android DText Library
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package dev.alshakib.dtext;
+
+import android.graphics.Typeface;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+// Text is measured by ShadowMonospacePaint: a char is half as wide as the text size,
+// and a line is as high as the text size.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TextFitterTest {
+    private static final float DELTA = 0.001f;
+
+    @Test
+    public void fit_shrinksToTheWidthOfTheBox() {
+        // 7 chars of 0.5 * size fit into 70 pixels up to a size of 20.
+        TextFitter.Result result = TextFitter.fit("Android", Typeface.DEFAULT, 70, 100, 1, 60, 1);
+
+        assertEquals(20, result.textSize, DELTA);
+        assertArrayEquals(new String[]{"Android"}, result.lines);
+    }
+
+    @Test
+    public void fit_shrinksToTheHeightOfTheBox() {
+        TextFitter.Result result = TextFitter.fit("Android", Typeface.DEFAULT, 1000, 30, 1, 60, 1);
+
+        assertEquals(30, result.textSize, DELTA);
+    }
+
+    @Test
+    public void fit_keepsTheMaxSizeIfItFits() {
+        TextFitter.Result result = TextFitter.fit("A", Typeface.DEFAULT, 100, 100, 1, 24, 1);
+
+        assertEquals(24, result.textSize, DELTA);
+        assertArrayEquals(new String[]{"A"}, result.lines);
+    }
+
+    @Test
+    public void fit_breaksIntoUpToMaxLines() {
+        TextFitter.Result oneLine = TextFitter.fit("Android DText Library", Typeface.DEFAULT,
+                100, 100, 1, 60, 1);
+        TextFitter.Result twoLines = TextFitter.fit("Android DText Library", Typeface.DEFAULT,
+                100, 100, 1, 60, 2);
+
+        // 21 chars on one line fit up to a size of 9, "Android DText" on the
+        // longer of two lines up to 15.
+        assertEquals(9, oneLine.textSize, DELTA);
+        assertArrayEquals(new String[]{"Android DText Library"}, oneLine.lines);
+        assertEquals(15, twoLines.textSize, DELTA);
+        assertArrayEquals(new String[]{"Android DText", "Library"}, twoLines.lines);
+    }
+
+    @Test
+    public void fit_neverGoesBelowMinSizeAndEllipsizes() {
+        TextFitter.Result result = TextFitter.fit("Android DText Library", Typeface.DEFAULT,
+                40, 40, 8, 60, 1);
+
+        // 40 pixels hold 10 chars of size 8, the ellipsis included.
+        assertEquals(8, result.textSize, DELTA);
+        assertArrayEquals(new String[]{"Android D…"}, result.lines);
+    }
+
+    @Test
+    public void fit_ellipsizesTheLastOfMaxLines() {
+        TextFitter.Result result = TextFitter.fit("Android DText Library", Typeface.DEFAULT,
+                40, 40, 8, 60, 2);
+
+        assertEquals(8, result.textSize, DELTA);
+        assertEquals(2, result.lines.length);
+        assertEquals("Android", result.lines[0]);
+        assertTrue(result.lines[1].endsWith("…"));
+    }
+
+    @Test
+    public void fit_reusesTheResultOfTheSameRequest() {
+        TextFitter.Result first = TextFitter.fit("Memoized", Typeface.DEFAULT, 80, 80, 1, 60, 2);
+        TextFitter.Result second = TextFitter.fit("Memoized", Typeface.DEFAULT, 80, 80, 1, 60, 2);
+        TextFitter.Result otherBox = TextFitter.fit("Memoized", Typeface.DEFAULT, 60, 80, 1, 60,
+                2);
+
+        assertSame(first, second);
+        assertNotSame(first, otherBox);
+    }
+}